@@ -0,0 +1,63 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import java.util.List;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar, accepting the usual JMH command line options, for instance:
+ * <pre>
+ *   java -Djavascript.benchmark.sources=its/sources/src -jar its/benchmarks/target/benchmarks.jar -rf json -rff results.json
+ *   java -jar its/benchmarks/target/benchmarks.jar ParserBenchmark -p corpus=synthetic
+ * </pre>
+ * Compared to the JMH default entry point, {@link CheckBenchmark} is run once per check of the check list.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+    if (!commandLineOptions.getParameter(CheckBenchmark.CHECK_PARAMETER).hasValue()) {
+      List<String> checkNames = CheckBenchmark.checkNames();
+      options.param(CheckBenchmark.CHECK_PARAMETER, checkNames.toArray(new String[checkNames.size()]));
+    }
+    Runner runner = new Runner(options.build());
+    if (commandLineOptions.shouldList()) {
+      runner.list();
+    } else {
+      runner.run();
+    }
+  }
+
+}
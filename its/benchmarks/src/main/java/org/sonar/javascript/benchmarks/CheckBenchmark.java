@@ -0,0 +1,79 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.checks.CheckList;
+import org.sonar.plugins.javascript.api.JavaScriptCheck;
+
+/**
+ * Runs one check of {@link CheckList}, identified by its simple class name, or all of them one after the other.
+ * {@link BenchmarkRunner} runs each check separately unless the "check" parameter is given on the command line.
+ */
+@State(Scope.Thread)
+public class CheckBenchmark extends AbstractBenchmark {
+
+  public static final String CHECK_PARAMETER = "check";
+  public static final String ALL_CHECKS = "all";
+
+  @Param({ALL_CHECKS})
+  public String check;
+
+  private List<JavaScriptCheck> checks;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    checks = new ArrayList<>();
+    for (Class checkClass : CheckList.getChecks()) {
+      if (ALL_CHECKS.equals(check) || checkClass.getSimpleName().equals(check)) {
+        checks.add((JavaScriptCheck) checkClass.newInstance());
+      }
+    }
+    if (checks.isEmpty()) {
+      throw new IllegalArgumentException("Unknown check: " + check);
+    }
+  }
+
+  @Benchmark
+  public void scanFiles(ParsedCorpus parsedCorpus, Blackhole blackhole) {
+    for (JavaScriptCheckContext context : parsedCorpus.contexts()) {
+      for (JavaScriptCheck javaScriptCheck : checks) {
+        blackhole.consume(javaScriptCheck.scanFile(context));
+      }
+    }
+  }
+
+  public static List<String> checkNames() {
+    List<String> names = new ArrayList<>();
+    for (Class checkClass : CheckList.getChecks()) {
+      names.add(checkClass.getSimpleName());
+    }
+    return names;
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Ordering;
+import com.google.common.io.Files;
+import com.sonar.sslr.api.RecognitionException;
+import com.sonar.sslr.api.typed.ActionParser;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Files benchmarked in one operation: either the JavaScript files of the "its/sources" submodule,
+ * or deterministic {@link SyntheticSources synthetic} files.
+ * Minified files and files which cannot be parsed are left out, as they are by the sensor,
+ * so that all benchmarks run over the same files.
+ */
+@State(Scope.Benchmark)
+public class Corpus {
+
+  public static final String SOURCES_PROPERTY = "javascript.benchmark.sources";
+  public static final String DEFAULT_SOURCES = "../sources/src";
+
+  @Param({"sources", "synthetic"})
+  public String corpus;
+
+  private List<SourceFile> files;
+
+  @Setup
+  public void setUp() throws IOException {
+    List<SourceFile> candidates;
+    if ("sources".equals(corpus)) {
+      candidates = readSources(new File(System.getProperty(SOURCES_PROPERTY, DEFAULT_SOURCES)));
+    } else if ("synthetic".equals(corpus)) {
+      candidates = SyntheticSources.generate();
+    } else {
+      throw new IllegalArgumentException("Unknown corpus: " + corpus);
+    }
+    files = parseable(candidates);
+  }
+
+  public List<SourceFile> files() {
+    return files;
+  }
+
+  private static List<SourceFile> readSources(File directory) throws IOException {
+    if (!directory.isDirectory()) {
+      throw new IllegalStateException("Directory " + directory.getAbsolutePath() + " not found: check out the its/sources submodule"
+        + " or set the " + SOURCES_PROPERTY + " system property");
+    }
+    List<SourceFile> sourceFiles = new ArrayList<>();
+    for (File file : Ordering.natural().sortedCopy(Files.fileTreeTraverser().preOrderTraversal(directory))) {
+      String name = file.getName();
+      if (file.isFile() && name.endsWith(".js") && !name.endsWith(".min.js") && !name.endsWith("-min.js")) {
+        sourceFiles.add(new SourceFile(file, Files.toString(file, Charsets.UTF_8)));
+      }
+    }
+    return sourceFiles;
+  }
+
+  private static List<SourceFile> parseable(List<SourceFile> candidates) {
+    ActionParser<Tree> parser = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
+    List<SourceFile> sourceFiles = new ArrayList<>();
+    for (SourceFile candidate : candidates) {
+      try {
+        parser.parse(candidate.content());
+        sourceFiles.add(candidate);
+      } catch (RecognitionException e) {
+        // excluded, as the sensor only reports a parsing error for such files
+      }
+    }
+    if (sourceFiles.isEmpty()) {
+      throw new IllegalStateException("No JavaScript file to benchmark");
+    }
+    return sourceFiles;
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.impl.Lexer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.lexer.JavaScriptLexer;
+
+@State(Scope.Thread)
+public class LexerBenchmark extends AbstractBenchmark {
+
+  private Lexer lexer;
+
+  @Setup
+  public void setUp() {
+    lexer = JavaScriptLexer.create(Charsets.UTF_8);
+  }
+
+  @Benchmark
+  public int lex(Corpus corpus) {
+    int tokens = 0;
+    for (SourceFile sourceFile : corpus.files()) {
+      tokens += lexer.lex(sourceFile.content()).size();
+    }
+    return tokens;
+  }
+
+}
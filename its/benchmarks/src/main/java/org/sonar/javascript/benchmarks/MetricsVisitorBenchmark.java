@@ -0,0 +1,62 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.api.batch.SensorContext;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.issue.NoSonarFilter;
+import org.sonar.api.measures.FileLinesContextFactory;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.metrics.MetricsVisitor;
+
+@State(Scope.Thread)
+public class MetricsVisitorBenchmark extends AbstractBenchmark {
+
+  private MetricsVisitor metricsVisitor;
+
+  @Setup
+  public void setUp(ParsedCorpus parsedCorpus) {
+    DefaultFileSystem fileSystem = new DefaultFileSystem();
+    for (JavaScriptCheckContext context : parsedCorpus.contexts()) {
+      fileSystem.add(new DefaultInputFile(context.getFile().getPath()).setAbsolutePath(context.getFile().getAbsolutePath()));
+    }
+    metricsVisitor = new MetricsVisitor(
+      fileSystem,
+      Stubs.stub(SensorContext.class),
+      new NoSonarFilter(),
+      false,
+      Stubs.stub(FileLinesContextFactory.class));
+  }
+
+  @Benchmark
+  public void computeMetrics(ParsedCorpus parsedCorpus, Blackhole blackhole) {
+    for (JavaScriptCheckContext context : parsedCorpus.contexts()) {
+      metricsVisitor.scanTree(context);
+      blackhole.consume(metricsVisitor.fileMetrics());
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Parses arrow functions nested {@code depth} times, to stress the alternatives of the assignment expression rule,
+ * where the parameters of an arrow function can also be read as a parenthesised expression:
+ * <ul>
+ *   <li>callbacks: {@code f((p0) => { return f((p1) => { ... }); });}</li>
+ *   <li>curried: {@code var g = (p0) => (p1) => ... => 0;}</li>
+ *   <li>defaults: {@code var g = (p0 = (p1 = ... => 0) => 0) => 0;}</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+public class NestedArrowBenchmark extends AbstractBenchmark {
+
+  @Param({"callbacks", "curried", "defaults"})
+  public String shape;
+
+  @Param({"8", "16"})
+  public int depth;
+
+  private ActionParser<Tree> parser;
+  private String source;
+
+  @Setup
+  public void setUp() {
+    parser = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
+    source = generate(shape, depth);
+  }
+
+  @Benchmark
+  public Tree parse() {
+    return parser.parse(source);
+  }
+
+  private static String generate(String shape, int depth) {
+    StringBuilder code = new StringBuilder();
+    if ("callbacks".equals(shape)) {
+      for (int i = 0; i < depth; i++) {
+        code.append("f((p").append(i).append(") => {\n  return ");
+      }
+      code.append("0");
+      for (int i = 0; i < depth; i++) {
+        code.append(";\n})");
+      }
+    } else if ("curried".equals(shape)) {
+      code.append("var g = ");
+      for (int i = 0; i < depth; i++) {
+        code.append("(p").append(i).append(") => ");
+      }
+      code.append("0");
+    } else if ("defaults".equals(shape)) {
+      code.append("var g = ");
+      for (int i = 0; i < depth; i++) {
+        code.append("(p").append(i).append(" = ");
+      }
+      code.append("0");
+      for (int i = 0; i < depth; i++) {
+        code.append(") => 0");
+      }
+    } else {
+      throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+    return code.append(";\n").toString();
+  }
+
+}
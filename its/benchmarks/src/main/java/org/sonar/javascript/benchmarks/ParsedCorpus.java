@@ -0,0 +1,58 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.typed.ActionParser;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
+import org.sonar.javascript.tree.symbols.SymbolModelImpl;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Trees and symbol models of the {@link Corpus}, built once before measurements start,
+ * for the benchmarks of what runs after parsing.
+ */
+@State(Scope.Benchmark)
+public class ParsedCorpus {
+
+  private List<JavaScriptCheckContext> contexts;
+
+  @Setup
+  public void setUp(Corpus corpus) {
+    ActionParser<Tree> parser = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
+    contexts = new ArrayList<>();
+    for (SourceFile sourceFile : corpus.files()) {
+      ScriptTree tree = (ScriptTree) parser.parse(sourceFile.content());
+      contexts.add(new JavaScriptCheckContext(tree, sourceFile.file(), sourceFile.content(), SymbolModelImpl.create(tree, null)));
+    }
+  }
+
+  public List<JavaScriptCheckContext> contexts() {
+    return contexts;
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Charsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.parser.JavaScriptParser;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Gets a parser and parses a small script with it, as an analysis thread does before analysing any file:
+ * either by building a new parser, or by taking one released earlier in the same sensor execution from the pool of
+ * {@link JavaScriptParserBuilder}.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserStartupBenchmark extends AbstractBenchmark {
+
+  private static final String SOURCE = "var a = 1;";
+
+  @Param({"pool", "create"})
+  public String parser;
+
+  @Benchmark
+  public Tree startup() {
+    if ("create".equals(parser)) {
+      return JavaScriptParserBuilder.createParser(Charsets.UTF_8).parse(SOURCE);
+    }
+    JavaScriptParser pooledParser = JavaScriptParserBuilder.acquireParser(Charsets.UTF_8);
+    try {
+      return pooledParser.parse(SOURCE);
+    } finally {
+      JavaScriptParserBuilder.releaseParser(pooledParser, 1);
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Parses a script made of one kind of statement repeated many times, to compare the cost of the alternatives of the
+ * statement rule which are tried and abandoned before the right one. Statements starting with a keyword were first
+ * tried as expression statements.
+ */
+@State(Scope.Thread)
+public class StatementBenchmark extends AbstractBenchmark {
+
+  private static final int STATEMENTS = 10000;
+
+  @Param({"expression", "return", "if", "throw", "for"})
+  public String statement;
+
+  private ActionParser<Tree> parser;
+  private String source;
+
+  @Setup
+  public void setUp() {
+    parser = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
+    String code;
+    if ("expression".equals(statement)) {
+      code = "a.b(c);\n";
+    } else if ("return".equals(statement)) {
+      code = "return a.b(c);\n";
+    } else if ("if".equals(statement)) {
+      code = "if (a) b(c);\n";
+    } else if ("throw".equals(statement)) {
+      code = "throw a.b(c);\n";
+    } else if ("for".equals(statement)) {
+      code = "for (;;) b(c);\n";
+    } else {
+      throw new IllegalArgumentException("Unknown statement: " + statement);
+    }
+    source = "function f() {\n" + Strings.repeat(code, STATEMENTS) + "}\n";
+  }
+
+  @Benchmark
+  public Tree parse() {
+    return parser.parse(source);
+  }
+
+}
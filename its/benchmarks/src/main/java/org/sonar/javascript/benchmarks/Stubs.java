@@ -0,0 +1,68 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import com.google.common.base.Defaults;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.sonar.api.resources.File;
+import org.sonar.api.resources.Resource;
+
+/**
+ * Implementations of the SonarQube API which do nothing, so that saving measures does not weigh in the results
+ * (mocks record every invocation).
+ */
+final class Stubs {
+
+  private static final InvocationHandler DO_NOTHING = new InvocationHandler() {
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      String name = method.getName();
+      if (method.getDeclaringClass() == Object.class) {
+        return objectMethod(proxy, name, args);
+      }
+      Class<?> returnType = method.getReturnType();
+      if (returnType == Resource.class) {
+        return File.create("benchmark.js");
+      } else if (returnType.isInterface()) {
+        return stub(returnType);
+      }
+      return Defaults.defaultValue(returnType);
+    }
+  };
+
+  private Stubs() {
+  }
+
+  static <T> T stub(Class<T> type) {
+    return type.cast(Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[] {type}, DO_NOTHING));
+  }
+
+  private static Object objectMethod(Object proxy, String name, Object[] args) {
+    if ("equals".equals(name)) {
+      return proxy == args[0];
+    } else if ("hashCode".equals(name)) {
+      return System.identityHashCode(proxy);
+    }
+    return "stub";
+  }
+
+}
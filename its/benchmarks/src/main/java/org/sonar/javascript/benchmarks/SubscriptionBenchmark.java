@@ -0,0 +1,96 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.checks.UnreachableCodeCheck;
+import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
+
+/**
+ * Traverses the corpus with a visitor subscribed to the many kinds of {@link UnreachableCodeCheck}, testing subscriptions
+ * either with the bitmask of {@link SubscriptionVisitor} or with a scan of the list returned by {@link SubscriptionVisitor#nodesToVisit()}.
+ */
+@State(Scope.Thread)
+public class SubscriptionBenchmark extends AbstractBenchmark {
+
+  @Param({"bitmask", "list"})
+  public String subscription;
+
+  private CountingVisitor visitor;
+
+  @Setup
+  public void setUp() {
+    List<Kind> kinds = new UnreachableCodeCheck().nodesToVisit();
+    visitor = "list".equals(subscription) ? new ListSubscriptionVisitor(kinds) : new CountingVisitor(kinds);
+  }
+
+  @Benchmark
+  public int scanFiles(ParsedCorpus parsedCorpus) {
+    visitor.count = 0;
+    for (JavaScriptCheckContext context : parsedCorpus.contexts()) {
+      visitor.scanTree(context);
+    }
+    return visitor.count;
+  }
+
+  private static class CountingVisitor extends SubscriptionVisitor {
+
+    final List<Kind> kinds;
+    int count;
+
+    CountingVisitor(List<Kind> kinds) {
+      this.kinds = kinds;
+    }
+
+    @Override
+    public List<Kind> nodesToVisit() {
+      return kinds;
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      count++;
+    }
+
+  }
+
+  private static class ListSubscriptionVisitor extends CountingVisitor {
+
+    ListSubscriptionVisitor(List<Kind> kinds) {
+      super(kinds);
+    }
+
+    @Override
+    protected boolean isSubscribed(Tree tree) {
+      return kinds.contains(((JavaScriptTree) tree).getKind());
+    }
+
+  }
+
+}
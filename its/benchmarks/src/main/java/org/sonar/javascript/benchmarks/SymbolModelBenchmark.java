@@ -0,0 +1,39 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.tree.symbols.SymbolModelImpl;
+
+/**
+ * Builds the symbol model again over trees which already have one, as symbols and types are overwritten.
+ */
+public class SymbolModelBenchmark extends AbstractBenchmark {
+
+  @Benchmark
+  public void create(ParsedCorpus parsedCorpus, Blackhole blackhole) {
+    for (JavaScriptCheckContext context : parsedCorpus.contexts()) {
+      blackhole.consume(SymbolModelImpl.create(context.getTopTree(), null));
+    }
+  }
+
+}
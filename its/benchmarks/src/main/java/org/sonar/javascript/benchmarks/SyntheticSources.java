@@ -0,0 +1,125 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the same JavaScript files on every run, so that results can be compared across commits
+ * without the "its/sources" submodule.
+ * Besides regular code, files stress long expressions and deeply nested functions.
+ */
+public final class SyntheticSources {
+
+  private static final long SEED = 20160101L;
+  private static final int FILES = 20;
+  private static final int FUNCTIONS_PER_FILE = 40;
+  private static final int NESTING_DEPTH = 20;
+  private static final int EXPRESSION_LENGTH = 200;
+
+  private SyntheticSources() {
+  }
+
+  public static List<SourceFile> generate() {
+    Random random = new Random(SEED);
+    List<SourceFile> files = new ArrayList<>();
+    for (int i = 0; i < FILES; i++) {
+      StringBuilder code = new StringBuilder();
+      code.append("/*\n * Synthetic file ").append(i).append("\n */\n");
+      for (int j = 0; j < FUNCTIONS_PER_FILE; j++) {
+        appendFunction(code, random, "f" + j);
+      }
+      appendClass(code, random, "C" + i);
+      appendNestedFunctions(code, random.nextInt(NESTING_DEPTH) + 1);
+      appendLongExpression(code, random);
+      files.add(new SourceFile(new File("synthetic", "file" + i + ".js"), code.toString()));
+    }
+    return files;
+  }
+
+  private static void appendFunction(StringBuilder code, Random random, String name) {
+    int n = random.nextInt(100);
+    code.append("// function ").append(name).append(" NOSONAR\n")
+      .append("function ").append(name).append("(a, b, c) {\n")
+      .append("  var self = this, result = { key: 'value', count: ").append(n).append(", list: [1, 2, 3] };\n")
+      .append("  var pattern = /^[a-z]+\\d*$/i, ratio = a / ").append(n + 1).append(" / b;\n")
+      .append("  if (a === b && pattern.test(c) || !c) {\n")
+      .append("    result.count += a ? b : c;\n")
+      .append("  } else if (typeof a === \"string\") {\n")
+      .append("    result.key = a + \"-\" + b + '-' + c;\n")
+      .append("  } else {\n")
+      .append("    throw new Error(\"unexpected \" + a);\n")
+      .append("  }\n")
+      .append("  for (var i = 0; i < result.list.length; i++) {\n")
+      .append("    switch (result.list[i] % ").append(random.nextInt(5) + 2).append(") {\n")
+      .append("      case 0: result.count++; break;\n")
+      .append("      case 1: continue;\n")
+      .append("      default: result.count--;\n")
+      .append("    }\n")
+      .append("  }\n")
+      .append("  try {\n")
+      .append("    $(\"#").append(name).append("\").find(\".item\").hide();\n")
+      .append("  } catch (e) {\n")
+      .append("    console.log(e);\n")
+      .append("  }\n")
+      .append("  result.list.forEach(function (item, index) { self[index] = item * ratio; });\n")
+      .append("  return result.list.map(x => x + ").append(n).append(").filter(x => x > ratio);\n")
+      .append("}\n\n");
+  }
+
+  private static void appendClass(StringBuilder code, Random random, String name) {
+    code.append("class ").append(name).append(" {\n")
+      .append("  constructor(value) {\n")
+      .append("    this.value = value;\n")
+      .append("  }\n")
+      .append("  get double() {\n")
+      .append("    return this.value * 2;\n")
+      .append("  }\n")
+      .append("  * values() {\n")
+      .append("    yield this.value;\n")
+      .append("    yield this.value + ").append(random.nextInt(10)).append(";\n")
+      .append("  }\n")
+      .append("}\n\n");
+  }
+
+  private static void appendNestedFunctions(StringBuilder code, int depth) {
+    code.append("var nested = ");
+    for (int i = 0; i < depth; i++) {
+      code.append("(p").append(i).append(") => {\n  var v").append(i).append(" = p").append(i).append(" + 1;\n  return ");
+    }
+    code.append("v0");
+    for (int i = 0; i < depth; i++) {
+      code.append(";\n}");
+    }
+    code.append(";\n\n");
+  }
+
+  private static void appendLongExpression(StringBuilder code, Random random) {
+    code.append("var sum = 0");
+    for (int i = 0; i < EXPRESSION_LENGTH; i++) {
+      code.append(random.nextBoolean() ? " + " : " - ").append(random.nextInt(1000));
+    }
+    code.append(";\n");
+  }
+
+}
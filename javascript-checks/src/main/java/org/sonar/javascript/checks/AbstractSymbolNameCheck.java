@@ -23,12 +23,15 @@ import com.google.common.base.Preconditions;
 import java.util.LinkedList;
 import java.util.List;
 import org.sonar.plugins.javascript.api.JavaScriptCheck;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.symbols.Symbol;
 import org.sonar.plugins.javascript.api.symbols.SymbolModel;
 import org.sonar.plugins.javascript.api.symbols.Usage;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitorCheck;
 
+@RequiresModel(ModelLevel.SYMBOLS)
 public abstract class AbstractSymbolNameCheck extends DoubleDispatchVisitorCheck {
   abstract List<String> illegalNames();
 
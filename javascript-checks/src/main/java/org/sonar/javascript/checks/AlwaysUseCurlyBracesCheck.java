@@ -25,6 +25,8 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.statement.ElseClauseTree;
@@ -42,6 +44,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   tags = {Tags.CERT, Tags.CWE, Tags.MISRA, Tags.PITFALL})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
+@RequiresModel(ModelLevel.TREE)
 public class AlwaysUseCurlyBracesCheck extends SubscriptionVisitorCheck {
 
   private static final String MESSAGE = "Add curly braces around the nested statement(s) in this \"%s\" block.";
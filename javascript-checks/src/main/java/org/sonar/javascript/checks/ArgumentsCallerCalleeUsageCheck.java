@@ -27,6 +27,8 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.checks.utils.CheckUtils;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.declaration.FunctionDeclarationTree;
@@ -46,6 +48,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   tags = {Tags.OBSOLETE})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.INSTRUCTION_RELIABILITY)
 @SqaleConstantRemediation("30min")
+@RequiresModel(ModelLevel.SYMBOLS)
 public class ArgumentsCallerCalleeUsageCheck extends SubscriptionVisitorCheck {
 
   private static final String ARGUMENTS = "arguments";
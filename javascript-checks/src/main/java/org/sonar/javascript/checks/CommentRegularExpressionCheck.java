@@ -26,6 +26,8 @@ import java.util.regex.Pattern;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.lexical.SyntaxToken;
@@ -43,6 +45,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
   priority = Priority.MAJOR)
 @RuleTemplate
 @NoSqale
+@RequiresModel(ModelLevel.TREE)
 public class CommentRegularExpressionCheck extends SubscriptionVisitorCheck {
 
   private static final String DEFAULT_MESSAGE = "The regular expression matches this comment.";
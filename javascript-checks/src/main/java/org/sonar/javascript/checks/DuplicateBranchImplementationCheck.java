@@ -20,11 +20,20 @@
 package org.sonar.javascript.checks;
 
 import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.tree.SyntacticEquivalence;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.expression.ConditionalExpressionTree;
@@ -47,6 +56,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.LOGIC_RELIABILITY)
 @SqaleConstantRemediation("10min")
+@RequiresModel(ModelLevel.TREE)
 public class DuplicateBranchImplementationCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "Either merge this %s with the identical one on line \"%s\" or change one of the implementations.";
@@ -72,38 +82,59 @@ public class DuplicateBranchImplementationCheck extends DoubleDispatchVisitorChe
 
   @Override
   public void visitSwitchStatement(SwitchStatementTree tree) {
-    for (int i = 0; i < tree.cases().size(); i++) {
-      SwitchClauseTree caseTree = tree.cases().get(i);
-
-      // FIXME martin: Don't check duplication for case with fall through on the next case.
-      if (caseTree.statements().isEmpty() || isCaseEndingWithoutJumpStmt(caseTree)) {
-        continue;
+    List<SwitchClauseTree> cases = tree.cases();
+
+    // cases are bucketed by the hash of their statements: only cases in the same bucket can be equivalent
+    Map<Integer, List<Integer>> casesByHash = new HashMap<>();
+    for (int i = 0; i < cases.size(); i++) {
+      if (isComparable(cases.get(i))) {
+        int hash = SyntacticEquivalence.hash(cases.get(i).statements());
+        if (!casesByHash.containsKey(hash)) {
+          casesByHash.put(hash, new ArrayList<Integer>());
+        }
+        casesByHash.get(hash).add(i);
       }
+    }
 
-      compareWithNextCases(tree, i, caseTree);
+    for (int i = 0; i < cases.size(); i++) {
+      if (isComparable(cases.get(i))) {
+        compareWithNextCases(cases, i, casesByHash);
+      }
     }
   }
 
-  private void compareWithNextCases(SwitchStatementTree tree, int indexCaseReference, SwitchClauseTree caseTree) {
-    for (int j = indexCaseReference + 1; j < tree.cases().size(); j++) {
-      SwitchClauseTree caseTreeToCompare = tree.cases().get(j);
+  // FIXME martin: Don't check duplication for case with fall through on the next case.
+  private boolean isComparable(SwitchClauseTree caseTree) {
+    return !caseTree.statements().isEmpty() && !isCaseEndingWithoutJumpStmt(caseTree);
+  }
 
-      // FIXME martin: Don't check duplication for case with fall through on the next case.
-      if (caseTreeToCompare.statements().isEmpty() || isCaseEndingWithoutJumpStmt(caseTreeToCompare)) {
-        continue;
-      }
+  private void compareWithNextCases(List<SwitchClauseTree> cases, int indexCaseReference, Map<Integer, List<Integer>> casesByHash) {
+    SwitchClauseTree caseTree = cases.get(indexCaseReference);
+    List<StatementTree> statements = caseTree.statements();
+    // Remove the jump statement if comparing to default case
+    List<StatementTree> statementsWithoutJump = statements.subList(0, statements.size() - 1);
 
-      // Remove the jump statement if comparing to default case
-      List<StatementTree> caseStatements = caseTreeToCompare.is(Kind.DEFAULT_CLAUSE) ? caseTree.statements().subList(0, caseTree.statements().size() - 1) : caseTree.statements();
+    SortedSet<Integer> candidates = new TreeSet<>();
+    addAll(candidates, casesByHash.get(SyntacticEquivalence.hash(statements)));
+    addAll(candidates, casesByHash.get(SyntacticEquivalence.hash(statementsWithoutJump)));
+
+    for (int j : candidates.tailSet(indexCaseReference + 1)) {
+      SwitchClauseTree caseTreeToCompare = cases.get(j);
+      List<StatementTree> caseStatements = caseTreeToCompare.is(Kind.DEFAULT_CLAUSE) ? statementsWithoutJump : statements;
 
       if (SyntacticEquivalence.areEquivalent(caseStatements, caseTreeToCompare.statements())) {
         addIssue(caseTree, caseTreeToCompare, "case");
-        // break the inner loop
         break;
       }
     }
   }
 
+  private static void addAll(Set<Integer> candidates, @Nullable List<Integer> indexes) {
+    if (indexes != null) {
+      candidates.addAll(indexes);
+    }
+  }
+
   private void addIssue(Tree original, Tree duplicate, String type) {
     IssueLocation secondary = new IssueLocation(original, "Original");
     String message = String.format(MESSAGE, type, secondary.startLine());
@@ -19,11 +19,17 @@
  */
 package org.sonar.javascript.checks;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.annotation.Nullable;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.tree.SyntacticEquivalence;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.expression.ExpressionTree;
@@ -46,6 +52,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.LOGIC_RELIABILITY)
 @SqaleConstantRemediation("10min")
+@RequiresModel(ModelLevel.TREE)
 public class DuplicateConditionIfElseAndSwitchCasesCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "This %s duplicates the one on line %s.";
@@ -69,13 +76,27 @@ public class DuplicateConditionIfElseAndSwitchCasesCheck extends DoubleDispatchV
 
   @Override
   public void visitSwitchStatement(SwitchStatementTree tree) {
-    for (int i = 0; i < tree.cases().size(); i++) {
-      for (int j = i + 1; j < tree.cases().size(); j++) {
-        ExpressionTree condition = getCondition(tree.cases().get(i));
-        ExpressionTree conditionToCompare = getCondition(tree.cases().get(j));
+    // conditions are bucketed by hash: only conditions in the same bucket can be equivalent
+    Map<Integer, List<ExpressionTree>> conditionsByHash = new HashMap<>();
+    for (SwitchClauseTree clause : tree.cases()) {
+      ExpressionTree condition = getCondition(clause);
+      if (condition != null) {
+        int hash = SyntacticEquivalence.hash(condition);
+        if (!conditionsByHash.containsKey(hash)) {
+          conditionsByHash.put(hash, new ArrayList<ExpressionTree>());
+        }
+        conditionsByHash.get(hash).add(condition);
+      }
+    }
 
-        if (SyntacticEquivalence.areEquivalent(condition, conditionToCompare)) {
-          addIssue(condition, conditionToCompare, "case");
+    for (SwitchClauseTree clause : tree.cases()) {
+      ExpressionTree condition = getCondition(clause);
+      if (condition != null) {
+        List<ExpressionTree> candidates = conditionsByHash.get(SyntacticEquivalence.hash(condition));
+        for (ExpressionTree conditionToCompare : candidates.subList(candidates.indexOf(condition) + 1, candidates.size())) {
+          if (SyntacticEquivalence.areEquivalent(condition, conditionToCompare)) {
+            addIssue(condition, conditionToCompare, "case");
+          }
         }
       }
     }
@@ -28,6 +28,8 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.expression.BinaryExpressionTree;
@@ -50,6 +52,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   offset = "5min",
   effortToFixDescription = "per complexity point above the threshold")
 @ActivatedByDefault
+@RequiresModel(ModelLevel.TREE)
 public class ExpressionComplexityCheck extends SubscriptionVisitorCheck {
 
   private static final int DEFAULT = 3;
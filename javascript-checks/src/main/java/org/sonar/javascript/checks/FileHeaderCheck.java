@@ -19,16 +19,14 @@
  */
 package org.sonar.javascript.checks;
 
-import com.google.common.io.Files;
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Iterator;
 import java.util.List;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
-import org.sonar.javascript.tree.visitors.CharsetAwareVisitor;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitorCheck;
 import org.sonar.plugins.javascript.api.visitors.FileIssue;
@@ -41,7 +39,8 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   priority = Priority.BLOCKER)
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.SECURITY_FEATURES)
 @SqaleConstantRemediation("5min")
-public class FileHeaderCheck extends DoubleDispatchVisitorCheck implements CharsetAwareVisitor {
+@RequiresModel(ModelLevel.TREE)
+public class FileHeaderCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "Add or update the header of this file.";
   private static final String DEFAULT_HEADER_FORMAT = "";
@@ -53,30 +52,14 @@ public class FileHeaderCheck extends DoubleDispatchVisitorCheck implements Chars
     type = "TEXT")
   public String headerFormat = DEFAULT_HEADER_FORMAT;
 
-  private Charset charset;
   private String[] expectedLines;
 
-  @Override
-  public void setCharset(Charset charset) {
-    this.charset = charset;
-  }
-
-
-
   @Override
   public void visitScript(ScriptTree tree) {
     // TODO martin: should be done in a init method
     expectedLines = headerFormat.split("(?:\r)?\n|\r");
 
-    List<String> lines;
-
-    try {
-      lines = Files.readLines(getContext().getFile(), charset);
-
-    } catch (IOException e) {
-      String fileName = getContext().getFile().getName();
-      throw new IllegalStateException("Unable to execute rule \"S1451\" for file " + fileName, e);
-    }
+    List<String> lines = getContext().getFileLines();
 
     if (!matches(expectedLines, lines)) {
       addIssue(new FileIssue(this, MESSAGE));
@@ -26,6 +26,8 @@ import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.javascript.metrics.ComplexityVisitor;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.tree.declaration.FunctionDeclarationTree;
@@ -51,6 +53,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   coeff = "1min",
   offset = "10min",
   effortToFixDescription = "per complexity point above the threshold")
+@RequiresModel(ModelLevel.TREE)
 public class FunctionComplexityCheck extends SubscriptionVisitorCheck {
 
   private static final String MESSAGE = "Function has a complexity of %s which is greater than %s authorized.";
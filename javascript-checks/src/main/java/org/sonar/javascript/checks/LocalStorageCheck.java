@@ -27,6 +27,8 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.checks.utils.CheckUtils;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.expression.DotMemberExpressionTree;
@@ -46,6 +48,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   coeff = "5min",
   offset = "1h",
   effortToFixDescription = "per additional use of the api")
+@RequiresModel(ModelLevel.TREE)
 public class LocalStorageCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "Remove all use of \"%s\"; use cookies or store the data on the server instead.";
@@ -19,14 +19,12 @@
  */
 package org.sonar.javascript.checks;
 
-import com.google.common.io.Files;
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.List;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
-import org.sonar.javascript.tree.visitors.CharsetAwareVisitor;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitorCheck;
 import org.sonar.plugins.javascript.api.visitors.LineIssue;
@@ -42,23 +40,14 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
-public class TabCharacterCheck extends DoubleDispatchVisitorCheck implements CharsetAwareVisitor {
+@RequiresModel(ModelLevel.TREE)
+public class TabCharacterCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "Replace all tab characters in this file by sequences of white-spaces.";
 
-  private Charset charset;
-
   @Override
   public void visitScript(ScriptTree tree) {
-    List<String> lines;
-
-    try {
-      lines = Files.readLines(getContext().getFile(), charset);
-
-    } catch (IOException e) {
-      String fileName = getContext().getFile().getName();
-      throw new IllegalStateException("Unable to execute rule \"TabCharacter\" for file " + fileName, e);
-    }
+    List<String> lines = getContext().getFileLines();
 
     for (int i = 0; i < lines.size(); i++) {
       if (lines.get(i).contains("\t")) {
@@ -69,9 +58,4 @@ public class TabCharacterCheck extends DoubleDispatchVisitorCheck implements Cha
 
   }
 
-  @Override
-  public void setCharset(Charset charset) {
-    this.charset = charset;
-  }
-
 }
@@ -26,6 +26,8 @@ import java.util.Stack;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.declaration.FunctionDeclarationTree;
@@ -59,6 +61,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   coeff = "20min",
   effortToFixDescription = "per extra \"break\" or \"continue\" statement"
 )
+@RequiresModel(ModelLevel.SYMBOLS)
 public class TooManyBreakOrContinueInLoopCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "Reduce the total number of \"break\" and \"continue\" statements in this loop to use one at most.";
@@ -19,9 +19,6 @@
  */
 package org.sonar.javascript.checks;
 
-import com.google.common.io.Files;
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -29,7 +26,8 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.lexer.JavaScriptLexer;
-import org.sonar.javascript.tree.visitors.CharsetAwareVisitor;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.visitors.LineIssue;
 import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitorCheck;
@@ -45,17 +43,11 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("1min")
-public class TrailingWhitespaceCheck extends SubscriptionVisitorCheck implements CharsetAwareVisitor {
+@RequiresModel(ModelLevel.TREE)
+public class TrailingWhitespaceCheck extends SubscriptionVisitorCheck {
 
   private static final String MESSAGE = "Remove the useless trailing whitespaces at the end of this line.";
 
-  private Charset charset;
-
-  @Override
-  public void setCharset(Charset charset) {
-    this.charset = charset;
-  }
-
   @Override
   public List<Tree.Kind> nodesToVisit() {
     return Collections.emptyList();
@@ -63,15 +55,7 @@ public class TrailingWhitespaceCheck extends SubscriptionVisitorCheck implements
 
   @Override
   public void visitFile(Tree scriptTree) {
-    List<String> lines = Collections.emptyList();
-
-    try {
-      lines = Files.readLines(getContext().getFile(), charset);
-
-    } catch (IOException e) {
-      String fileName = getContext().getFile().getName();
-      throw new IllegalStateException("Unable to execute rule \"TrailingWhitespace\" for file " + fileName, e);
-    }
+    List<String> lines = getContext().getFileLines();
 
     for (int i = 0; i < lines.size(); i++) {
       String line = lines.get(i);
@@ -19,12 +19,15 @@
  */
 package org.sonar.javascript.checks;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.javascript.tree.impl.JavaScriptTree;
 import org.sonar.javascript.tree.symbols.Scope;
+import org.sonar.plugins.javascript.api.ModelLevel;
+import org.sonar.plugins.javascript.api.RequiresModel;
 import org.sonar.plugins.javascript.api.symbols.Symbol;
 import org.sonar.plugins.javascript.api.symbols.SymbolModel;
 import org.sonar.plugins.javascript.api.symbols.Usage;
@@ -40,6 +43,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   tags = {Tags.PITFALL})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("10min")
+@RequiresModel(ModelLevel.SYMBOLS)
 public class VariableShadowingCheck extends DoubleDispatchVisitorCheck {
 
   private static final String MESSAGE = "\"%s\" hides or potentially hides a variable declared in an outer scope at line %s.";
@@ -53,7 +57,7 @@ public class VariableShadowingCheck extends DoubleDispatchVisitorCheck {
 
   private Collection<Symbol> getSymbols() {
     SymbolModel symbolModel = getContext().getSymbolModel();
-    Collection<Symbol> symbols = symbolModel.getSymbols(Symbol.Kind.VARIABLE);
+    Collection<Symbol> symbols = new ArrayList<>(symbolModel.getSymbols(Symbol.Kind.VARIABLE));
     symbols.addAll(symbolModel.getSymbols(Symbol.Kind.PARAMETER));
     return symbols;
   }
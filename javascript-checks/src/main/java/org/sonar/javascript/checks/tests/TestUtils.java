@@ -20,8 +20,10 @@
 package org.sonar.javascript.checks.tests;
 
 import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 import com.sonar.sslr.api.typed.ActionParser;
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import org.sonar.api.config.Settings;
@@ -41,10 +43,17 @@ public class TestUtils {
   protected static final ActionParser<Tree> p = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
 
   public static JavaScriptCheckContext createContext(File file) {
-    ScriptTree scriptTree = (ScriptTree) p.parse(file);
+    String fileContent;
+    try {
+      fileContent = Files.toString(file, Charsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read " + file, e);
+    }
+
+    ScriptTree scriptTree = (ScriptTree) p.parse(fileContent);
     SymbolModel symbolModel = SymbolModelImpl.create(scriptTree, null, settings());
 
-    return new JavaScriptCheckContext(scriptTree, file, symbolModel);
+    return new JavaScriptCheckContext(scriptTree, file, fileContent, symbolModel);
   }
 
   private static Settings settings() {
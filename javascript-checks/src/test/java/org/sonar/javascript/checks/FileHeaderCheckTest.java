@@ -19,7 +19,6 @@
  */
 package org.sonar.javascript.checks;
 
-import com.google.common.base.Charsets;
 import org.junit.Test;
 import org.sonar.javascript.checks.tests.TreeCheckTest;
 import org.sonar.squidbridge.checks.CheckMessagesVerifier;
@@ -29,7 +28,6 @@ public class FileHeaderCheckTest extends TreeCheckTest {
   @Test
   public void test() {
     FileHeaderCheck check = new FileHeaderCheck();
-    check.setCharset(Charsets.UTF_8);
     check.headerFormat = "// copyright 2005";
 
     CheckMessagesVerifier.verify(getIssues("src/test/resources/checks/FileHeaderCheck/file1.js", check))
@@ -19,8 +19,6 @@
  */
 package org.sonar.javascript.checks;
 
-import com.google.common.base.Charsets;
-import org.junit.Before;
 import org.junit.Test;
 import org.sonar.javascript.checks.tests.TreeCheckTest;
 import org.sonar.squidbridge.checks.CheckMessagesVerifier;
@@ -29,11 +27,6 @@ public class TabCharacterCheckTest extends TreeCheckTest {
 
   TabCharacterCheck check = new TabCharacterCheck();
 
-  @Before
-  public void setUp() {
-    check.setCharset(Charsets.UTF_8);
-  }
-
   @Test
   public void test() {
     CheckMessagesVerifier.verify(getIssues("src/test/resources/checks/tabCharacter.js", check))
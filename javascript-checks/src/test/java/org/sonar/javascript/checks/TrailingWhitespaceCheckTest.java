@@ -19,7 +19,6 @@
  */
 package org.sonar.javascript.checks;
 
-import com.google.common.base.Charsets;
 import org.junit.Test;
 import org.sonar.javascript.checks.tests.TreeCheckTest;
 import org.sonar.squidbridge.checks.CheckMessagesVerifier;
@@ -29,7 +28,6 @@ public class TrailingWhitespaceCheckTest extends TreeCheckTest {
   @Test
   public void test() {
     TrailingWhitespaceCheck check = new TrailingWhitespaceCheck();
-    check.setCharset(Charsets.UTF_8);
     CheckMessagesVerifier.verify(getIssues("src/test/resources/checks/trailingWhitespace.js", check))
       .next().atLine(3).withMessage("Remove the useless trailing whitespaces at the end of this line.")
       .noMore();
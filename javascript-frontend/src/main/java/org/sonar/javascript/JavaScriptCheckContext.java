@@ -19,20 +19,30 @@
  */
 package org.sonar.javascript;
 
+import com.google.common.io.CharStreams;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.sonar.javascript.tree.impl.declaration.ScriptTreeImpl;
 import org.sonar.plugins.javascript.api.symbols.SymbolModel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
 import org.sonar.plugins.javascript.api.visitors.TreeVisitorContext;
 
 public class JavaScriptCheckContext implements TreeVisitorContext {
 
   private final ScriptTree tree;
   private final File file;
+  private final String fileContent;
   private final SymbolModel symbolModel;
+  private List<String> fileLines = null;
 
-  public JavaScriptCheckContext(ScriptTree tree, File file, SymbolModel symbolModel) {
+  public JavaScriptCheckContext(ScriptTree tree, File file, String fileContent, SymbolModel symbolModel) {
     this.tree = tree;
     this.file = file;
+    this.fileContent = fileContent;
     this.symbolModel = symbolModel;
   }
 
@@ -46,8 +56,30 @@ public class JavaScriptCheckContext implements TreeVisitorContext {
     return file;
   }
 
+  @Override
+  public String getFileContent() {
+    return fileContent;
+  }
+
+  @Override
+  public List<String> getFileLines() {
+    if (fileLines == null) {
+      try {
+        fileLines = CharStreams.readLines(new StringReader(fileContent));
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not split content of " + file, e);
+      }
+    }
+    return fileLines;
+  }
+
   @Override
   public SymbolModel getSymbolModel() {
     return symbolModel;
   }
+
+  @Override
+  public List<Tree> getTrees(Kind kind) {
+    return ((ScriptTreeImpl) tree).index().trees(kind);
+  }
 }
@@ -0,0 +1,53 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.highlighter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.sonar.api.source.Highlightable.HighlightingBuilder;
+
+/**
+ * Syntax highlighting of one file, recorded by {@link HighlighterVisitor} so that it can be saved again without parsing the file.
+ */
+public class FileHighlighting implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final List<Integer> startOffsets = new ArrayList<>();
+  private final List<Integer> endOffsets = new ArrayList<>();
+  private final List<String> codes = new ArrayList<>();
+
+  public void highlight(int startOffset, int endOffset, String code) {
+    if (endOffset > startOffset) {
+      startOffsets.add(startOffset);
+      endOffsets.add(endOffset);
+      codes.add(code);
+    }
+  }
+
+  public void save(HighlightingBuilder highlighting) {
+    for (int i = 0; i < codes.size(); i++) {
+      highlighting.highlight(startOffsets.get(i), endOffsets.get(i), codes.get(i));
+    }
+    highlighting.done();
+  }
+
+}
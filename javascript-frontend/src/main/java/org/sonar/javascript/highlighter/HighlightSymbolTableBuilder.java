@@ -19,14 +19,8 @@
  */
 package org.sonar.javascript.highlighter;
 
-import java.util.LinkedList;
-import java.util.List;
 import org.sonar.api.source.Symbolizable;
-import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
-import org.sonar.plugins.javascript.api.symbols.Symbol;
 import org.sonar.plugins.javascript.api.symbols.SymbolModel;
-import org.sonar.plugins.javascript.api.symbols.Usage;
-import org.sonar.plugins.javascript.api.tree.expression.IdentifierTree;
 
 public class HighlightSymbolTableBuilder {
 
@@ -34,33 +28,7 @@ public class HighlightSymbolTableBuilder {
   }
 
   public static Symbolizable.SymbolTable build(Symbolizable symbolizable, SymbolModel symbolModel) {
-    Symbolizable.SymbolTableBuilder builder = symbolizable.newSymbolTableBuilder();
-
-    for (Symbol symbol : symbolModel.getSymbols()) {
-      if (!symbol.usages().isEmpty()) {
-        List<Usage> usagesList = new LinkedList<>(symbol.usages());
-        InternalSyntaxToken token = (InternalSyntaxToken) (usagesList.get(0).identifierTree()).identifierToken();
-        org.sonar.api.source.Symbol reference = getHighlightedSymbol(builder, token);
-        for (int i = 1; i < usagesList.size(); i++) {
-          builder.newReference(
-            reference,
-            getToken(usagesList.get(i).identifierTree()).startIndex()
-          );
-        }
-
-      }
-    }
-
-    return builder.build();
+    return SymbolReferences.create(symbolModel).build(symbolizable);
   }
 
-  private static org.sonar.api.source.Symbol getHighlightedSymbol(Symbolizable.SymbolTableBuilder builder, InternalSyntaxToken token) {
-    int startOffset = token.startIndex();
-    int endOffset = token.toIndex();
-    return builder.newSymbol(startOffset, endOffset);
-  }
-
-  private static InternalSyntaxToken getToken(IdentifierTree identifierTree) {
-    return (InternalSyntaxToken) (identifierTree).identifierToken();
-  }
 }
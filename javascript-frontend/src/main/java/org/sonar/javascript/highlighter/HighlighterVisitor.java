@@ -46,6 +46,7 @@ public class HighlighterVisitor extends SubscriptionVisitor {
   private final ResourcePerspectives resourcePerspectives;
   private final FileSystem fileSystem;
   private HighlightingBuilder highlighting;
+  private FileHighlighting fileHighlighting;
   private SourceFileOffsets offsets;
 
   private static final Kind[] METHODS = {
@@ -75,12 +76,13 @@ public class HighlighterVisitor extends SubscriptionVisitor {
   }
 
   private void stopHighlighting() {
-    highlighting.done();
+    fileHighlighting.save(highlighting);
   }
 
   @Override
   public void visitFile(Tree scriptTree) {
-    highlighting = initHighlighting(getContext().getFile());
+    fileHighlighting = null;
+    highlighting = initHighlighting(getContext().getFile(), getContext().getFileContent());
   }
 
   @Override
@@ -144,7 +146,7 @@ public class HighlighterVisitor extends SubscriptionVisitor {
   }
 
   @Nullable
-  private HighlightingBuilder initHighlighting(File file) {
+  private HighlightingBuilder initHighlighting(File file, String fileContent) {
     InputFile inputFile = fileSystem.inputFile(fileSystem.predicates().is(file));
     if (inputFile == null) {
       throw new IllegalArgumentException("Cannot get " + Highlightable.class.getCanonicalName() + " for a null file");
@@ -155,15 +157,22 @@ public class HighlighterVisitor extends SubscriptionVisitor {
       return null;
     } else {
       highlighting = highlightable.newHighlighting();
-      offsets = new SourceFileOffsets(file, fileSystem.encoding());
+      fileHighlighting = new FileHighlighting();
+      offsets = new SourceFileOffsets(fileContent);
       return this.highlighting;
     }
   }
 
   private void highlight(int startOffset, int endOffset, String code) {
-    if (endOffset > startOffset) {
-      highlighting.highlight(startOffset, endOffset, code);
-    }
+    fileHighlighting.highlight(startOffset, endOffset, code);
+  }
+
+  /**
+   * @return the highlighting saved for the last visited file, null if it could not be highlighted
+   */
+  @Nullable
+  public FileHighlighting fileHighlighting() {
+    return fileHighlighting;
   }
 
   private static boolean isKeyword(String text) {
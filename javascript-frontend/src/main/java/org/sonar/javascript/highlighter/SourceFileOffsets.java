@@ -20,11 +20,7 @@
 package org.sonar.javascript.highlighter;
 
 import com.google.common.collect.Lists;
-import com.google.common.io.Files;
 import com.sonar.sslr.api.Token;
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.List;
 import org.sonar.javascript.parser.JavaScriptNodeBuilder;
 import org.sonar.plugins.javascript.api.tree.lexical.SyntaxToken;
@@ -39,20 +35,6 @@ public class SourceFileOffsets {
     initOffsets(content);
   }
 
-  public SourceFileOffsets(File file, Charset charset) {
-    this(fileContent(file, charset));
-  }
-
-  private static String fileContent(File file, Charset charset) {
-    String fileContent;
-    try {
-      fileContent = Files.toString(file, charset);
-    } catch (IOException e) {
-      throw new IllegalStateException("Could not read " + file, e);
-    }
-    return fileContent;
-  }
-
   private void initOffsets(String toParse) {
     boolean hasByteOrderMark = toParse.startsWith(Character.toString(JavaScriptNodeBuilder.BYTE_ORDER_MARK));
     lineStartOffsets.add(0);
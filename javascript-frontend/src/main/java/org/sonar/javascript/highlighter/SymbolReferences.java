@@ -0,0 +1,96 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.highlighter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.sonar.api.source.Symbolizable;
+import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
+import org.sonar.plugins.javascript.api.symbols.Symbol;
+import org.sonar.plugins.javascript.api.symbols.SymbolModel;
+import org.sonar.plugins.javascript.api.symbols.Usage;
+
+/**
+ * Offsets of the symbols of one file and of their references, as sent to the symbol table of the source viewer.
+ * They do not reference the tree of the file, so they can be saved again without parsing it.
+ */
+public class SymbolReferences implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * For each symbol: start and end offsets of its first usage, then start offsets of the other usages
+   */
+  private final List<int[]> symbols = new ArrayList<>();
+
+  private SymbolReferences() {
+  }
+
+  /**
+   * @return references of no symbol, for files whose symbols are not highlighted
+   */
+  public static SymbolReferences empty() {
+    return new SymbolReferences();
+  }
+
+  public static SymbolReferences create(SymbolModel symbolModel) {
+    SymbolReferences symbolReferences = new SymbolReferences();
+
+    for (Symbol symbol : symbolModel.getSymbols()) {
+      if (!symbol.usages().isEmpty()) {
+        List<Usage> usagesList = new LinkedList<>(symbol.usages());
+        int[] offsets = new int[usagesList.size() + 1];
+        InternalSyntaxToken token = token(usagesList.get(0));
+        offsets[0] = token.startIndex();
+        offsets[1] = token.toIndex();
+        for (int i = 1; i < usagesList.size(); i++) {
+          offsets[i + 1] = token(usagesList.get(i)).startIndex();
+        }
+        symbolReferences.symbols.add(offsets);
+      }
+    }
+
+    return symbolReferences;
+  }
+
+  public Symbolizable.SymbolTable build(Symbolizable symbolizable) {
+    Symbolizable.SymbolTableBuilder builder = symbolizable.newSymbolTableBuilder();
+
+    for (int[] offsets : symbols) {
+      org.sonar.api.source.Symbol reference = builder.newSymbol(offsets[0], offsets[1]);
+      for (int i = 2; i < offsets.length; i++) {
+        builder.newReference(reference, offsets[i]);
+      }
+    }
+
+    return builder.build();
+  }
+
+  public void save(Symbolizable symbolizable) {
+    symbolizable.setSymbolTable(build(symbolizable));
+  }
+
+  private static InternalSyntaxToken token(Usage usage) {
+    return (InternalSyntaxToken) usage.identifierTree().identifierToken();
+  }
+
+}
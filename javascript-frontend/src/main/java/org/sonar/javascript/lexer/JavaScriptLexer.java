@@ -19,17 +19,11 @@
  */
 package org.sonar.javascript.lexer;
 
-import com.sonar.sslr.api.GenericTokenType;
 import com.sonar.sslr.impl.Lexer;
-import com.sonar.sslr.impl.channel.BlackHoleChannel;
-import com.sonar.sslr.impl.channel.IdentifierAndKeywordChannel;
 import com.sonar.sslr.impl.channel.PunctuatorChannel;
 import com.sonar.sslr.impl.channel.UnknownCharacterChannel;
 import java.nio.charset.Charset;
 
-import static com.sonar.sslr.impl.channel.RegexpChannelBuilder.commentRegexp;
-import static com.sonar.sslr.impl.channel.RegexpChannelBuilder.regexp;
-
 public final class JavaScriptLexer {
 
   private static final String EXP = "([Ee][+-]?+[0-9_]++)";
@@ -104,22 +98,12 @@ public final class JavaScriptLexer {
 
       .withFailIfNoChannelToConsumeOneCharacter(true)
 
-      // Channels, which consumes more frequently should come first.
-      // Whitespace character occurs more frequently than any other, and thus come first:
-      .withChannel(new BlackHoleChannel("[" + LINE_TERMINATOR + WHITESPACE + "]++"))
-
-      // Comments
-      .withChannel(commentRegexp(COMMENT))
-
-      // String Literals
-      .withChannel(regexp(GenericTokenType.LITERAL, LITERAL))
+      // Whitespace, comments, string and numeric literals, identifiers and keywords
+      .withChannel(new JavaScriptScanner())
 
       // Regular Expression Literals
       .withChannel(new JavaScriptRegexpChannel())
 
-      .withChannel(regexp(JavaScriptTokenType.NUMERIC_LITERAL, NUMERIC_LITERAL))
-
-      .withChannel(new IdentifierAndKeywordChannel(IDENTIFIER, true, JavaScriptKeyword.values()))
       .withChannel(new PunctuatorChannel(JavaScriptPunctuator.values()))
 
       .withChannel(new UnknownCharacterChannel())
@@ -22,18 +22,23 @@ package org.sonar.javascript.lexer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.sonar.sslr.api.Token;
+import com.sonar.sslr.api.TokenType;
 import com.sonar.sslr.impl.Lexer;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.sonar.sslr.channel.Channel;
 import org.sonar.sslr.channel.CodeReader;
 
-import static com.sonar.sslr.impl.channel.RegexpChannelBuilder.regexp;
 import static org.sonar.javascript.lexer.JavaScriptTokenType.REGULAR_EXPRESSION_LITERAL;
 
 /**
  * Provides a heuristic to guess whether a forward slash starts a regular expression.
  * http://stackoverflow.com/questions/7936593/finding-regular-expression-literals-in-a-string-of-javascript-code
+ * <p>
+ * The guess only depends on the type of the previous token, so it is precomputed for every keyword and punctuator.
+ * The regular expression literal itself is scanned by hand and accepts what {@link #REGULAR_EXPRESSION} describes.
+ * </p>
  */
 public class JavaScriptRegexpChannel extends Channel<Lexer> {
 
@@ -60,26 +65,127 @@ public class JavaScriptRegexpChannel extends Channel<Lexer> {
     + "\\/"
     + "\\p{javaJavaIdentifierPart}*+";
 
-  private final Channel<Lexer> delegate;
-
-  public JavaScriptRegexpChannel() {
-    this.delegate = regexp(REGULAR_EXPRESSION_LITERAL, REGULAR_EXPRESSION);
-  }
+  private final StringBuilder buffer = new StringBuilder();
+  private final Token.Builder tokenBuilder = Token.builder();
 
   @Override
   public boolean consume(CodeReader code, Lexer output) {
-    if (code.peek() == '/') {
-      Token lastToken = getLastToken(output);
-      if (lastToken == null || guessNextIsRegexp(lastToken.getValue())) {
-        return delegate.consume(code, output);
+    if (code.peek() == '/' && isRegexpPreceder(getLastTokenType(output))) {
+      int length = regularExpression(code);
+      if (length > 0) {
+        consume(code, output, length);
+        return true;
       }
     }
     return false;
   }
 
-  private static Token getLastToken(Lexer output) {
+  private void consume(CodeReader code, Lexer output, int length) {
+    int line = code.getLinePosition();
+    int column = code.getColumnPosition();
+    for (int i = 0; i < length; i++) {
+      buffer.append((char) code.pop());
+    }
+    Token token = tokenBuilder
+      .setType(REGULAR_EXPRESSION_LITERAL)
+      .setValueAndOriginalValue(buffer.toString())
+      .setURI(output.getURI())
+      .setLine(line)
+      .setColumn(column)
+      .build();
+    buffer.setLength(0);
+    output.addToken(token);
+  }
+
+  @Nullable
+  private static TokenType getLastTokenType(Lexer output) {
     List<Token> tokens = output.getTokens();
-    return tokens.isEmpty() ? null : tokens.get(tokens.size() - 1);
+    return tokens.isEmpty() ? null : tokens.get(tokens.size() - 1).getType();
+  }
+
+  /**
+   * Same as {@link #guessNextIsRegexp(String)} applied to the value of a token of the given type:
+   * only keywords and punctuators can precede a regular expression.
+   *
+   * @param type type of the token preceding the slash, or null at the start of the file
+   */
+  @VisibleForTesting
+  static boolean isRegexpPreceder(@Nullable TokenType type) {
+    if (type == null) {
+      return true;
+    } else if (type instanceof JavaScriptPunctuator) {
+      return PUNCTUATOR_PRECEDERS[((JavaScriptPunctuator) type).ordinal()];
+    } else if (type instanceof JavaScriptKeyword) {
+      return KEYWORD_PRECEDERS[((JavaScriptKeyword) type).ordinal()];
+    }
+    return false;
+  }
+
+  /**
+   * Returns the length of the regular expression literal starting with the slash at the beginning of the code,
+   * or -1 if there is none.
+   */
+  private static int regularExpression(CharSequence code) {
+    int length = code.length();
+    if (length < 2 || code.charAt(1) == '*' || code.charAt(1) == '/') {
+      return -1;
+    }
+    int i = 1;
+    while (i < length && code.charAt(i) != '/') {
+      char c = code.charAt(i);
+      if (c == '\\') {
+        i = backslashSequence(code, i);
+      } else if (c == '[') {
+        i = characterClass(code, i);
+      } else if (isLineTerminator(c)) {
+        return -1;
+      } else {
+        i++;
+      }
+      if (i == -1) {
+        return -1;
+      }
+    }
+    if (i == length) {
+      return -1;
+    }
+    // flags
+    i++;
+    while (i < length) {
+      int codePoint = Character.codePointAt(code, i);
+      if (!Character.isJavaIdentifierPart(codePoint)) {
+        break;
+      }
+      i += Character.charCount(codePoint);
+    }
+    return i;
+  }
+
+  private static int characterClass(CharSequence code, int start) {
+    int i = start + 1;
+    while (i < code.length() && code.charAt(i) != ']') {
+      char c = code.charAt(i);
+      if (c == '\\') {
+        i = backslashSequence(code, i);
+      } else if (isLineTerminator(c)) {
+        return -1;
+      } else {
+        i++;
+      }
+      if (i == -1) {
+        return -1;
+      }
+    }
+    return i < code.length() ? (i + 1) : -1;
+  }
+
+  private static int backslashSequence(CharSequence code, int backslash) {
+    int i = backslash + 1;
+    return i < code.length() && !isLineTerminator(code.charAt(i)) ? (i + 1) : -1;
+  }
+
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029';
   }
 
   private static final Set<String> WHOLE_TOKENS = ImmutableSet.of(
@@ -155,6 +261,19 @@ public class JavaScriptRegexpChannel extends Channel<Lexer> {
   // and good reason to have a post-increment operator as the left operand of
   // a division (x++ / y) this pattern treats ++ and -- as division preceders.
 
+  // Declared after WHOLE_TOKENS and ENDS, which are used to initialize them
+  private static final boolean[] KEYWORD_PRECEDERS = new boolean[JavaScriptKeyword.values().length];
+  private static final boolean[] PUNCTUATOR_PRECEDERS = new boolean[JavaScriptPunctuator.values().length];
+
+  static {
+    for (JavaScriptKeyword keyword : JavaScriptKeyword.values()) {
+      KEYWORD_PRECEDERS[keyword.ordinal()] = guessNextIsRegexp(keyword.getValue());
+    }
+    for (JavaScriptPunctuator punctuator : JavaScriptPunctuator.values()) {
+      PUNCTUATOR_PRECEDERS[punctuator.ordinal()] = guessNextIsRegexp(punctuator.getValue());
+    }
+  }
+
   /**
    * Returns true if a slash after given token starts a regular expression instead of div operator.
    * <p>
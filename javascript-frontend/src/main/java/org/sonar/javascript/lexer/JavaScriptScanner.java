@@ -0,0 +1,381 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.lexer;
+
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.Token;
+import com.sonar.sslr.api.TokenType;
+import com.sonar.sslr.api.Trivia;
+import com.sonar.sslr.impl.Lexer;
+import java.util.HashMap;
+import java.util.Map;
+import org.sonar.sslr.channel.Channel;
+import org.sonar.sslr.channel.CodeReader;
+
+/**
+ * Hand-written scanner for whitespace, comments, string literals, numeric literals, identifiers and keywords.
+ * <p>
+ * It accepts exactly what the regular expressions of {@link JavaScriptLexer} describe, but dispatches on the first
+ * character and classifies ASCII characters with a lookup table. Other characters are classified by their Unicode
+ * category. Regular expression literals and punctuators are left to the following channels.
+ * </p>
+ */
+public class JavaScriptScanner extends Channel<Lexer> {
+
+  private static final int WHITESPACE = 1;
+  private static final int IDENTIFIER_START = 1 << 1;
+  private static final int IDENTIFIER_PART = 1 << 2;
+  private static final int DIGIT = 1 << 3;
+  private static final int HEX_DIGIT = 1 << 4;
+
+  private static final int[] ASCII = new int[128];
+
+  static {
+    for (char c : "\t\u000B\f \n\r".toCharArray()) {
+      ASCII[c] = WHITESPACE;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      ASCII[c] = IDENTIFIER_START | IDENTIFIER_PART;
+      ASCII[Character.toUpperCase(c)] = IDENTIFIER_START | IDENTIFIER_PART;
+    }
+    ASCII['$'] = IDENTIFIER_START | IDENTIFIER_PART;
+    ASCII['_'] = IDENTIFIER_START | IDENTIFIER_PART;
+    for (char c = '0'; c <= '9'; c++) {
+      ASCII[c] = IDENTIFIER_PART | DIGIT | HEX_DIGIT;
+    }
+    for (char c = 'a'; c <= 'f'; c++) {
+      ASCII[c] |= HEX_DIGIT;
+      ASCII[Character.toUpperCase(c)] |= HEX_DIGIT;
+    }
+  }
+
+  private final Map<String, TokenType> keywords = new HashMap<>();
+  private final StringBuilder buffer = new StringBuilder();
+  private final Token.Builder tokenBuilder = Token.builder();
+
+  public JavaScriptScanner() {
+    for (JavaScriptKeyword keyword : JavaScriptKeyword.values()) {
+      keywords.put(keyword.getValue(), keyword);
+    }
+  }
+
+  @Override
+  public boolean consume(CodeReader code, Lexer lexer) {
+    int c = code.peek();
+    if (c == -1) {
+      return false;
+    }
+    if (isWhitespace((char) c)) {
+      skipWhitespace(code);
+      return true;
+    }
+    switch (c) {
+      case '/':
+      case '<':
+        return consume(code, lexer, comment(code), GenericTokenType.COMMENT);
+      case '"':
+      case '\'':
+        return consume(code, lexer, stringLiteral(code), GenericTokenType.LITERAL);
+      case '.':
+        return consume(code, lexer, numericLiteral(code), JavaScriptTokenType.NUMERIC_LITERAL);
+      default:
+        if (is(c, DIGIT)) {
+          return consume(code, lexer, numericLiteral(code), JavaScriptTokenType.NUMERIC_LITERAL);
+        }
+        return consume(code, lexer, identifier(code), GenericTokenType.IDENTIFIER);
+    }
+  }
+
+  private boolean consume(CodeReader code, Lexer lexer, int length, TokenType type) {
+    if (length <= 0) {
+      return false;
+    }
+    int line = code.getLinePosition();
+    int column = code.getColumnPosition();
+    for (int i = 0; i < length; i++) {
+      buffer.append((char) code.pop());
+    }
+    String value = buffer.toString();
+    buffer.setLength(0);
+
+    TokenType tokenType = type;
+    if (type == GenericTokenType.IDENTIFIER && keywords.containsKey(value)) {
+      tokenType = keywords.get(value);
+    }
+    Token token = tokenBuilder
+      .setType(tokenType)
+      .setValueAndOriginalValue(value)
+      .setURI(lexer.getURI())
+      .setLine(line)
+      .setColumn(column)
+      .build();
+    if (type == GenericTokenType.COMMENT) {
+      lexer.addTrivia(Trivia.createComment(token));
+    } else {
+      lexer.addToken(token);
+    }
+    return true;
+  }
+
+  private static void skipWhitespace(CodeReader code) {
+    while (code.peek() != -1 && isWhitespace((char) code.peek())) {
+      code.pop();
+    }
+  }
+
+  /**
+   * {@link JavaScriptLexer#COMMENT}
+   */
+  private static int comment(CharSequence code) {
+    if (startsWith(code, "//") || startsWith(code, "<!--")) {
+      int i = 2;
+      while (i < code.length() && !isLineFeedOrCarriageReturn(code.charAt(i))) {
+        i++;
+      }
+      return i;
+    }
+    if (startsWith(code, "/*")) {
+      for (int i = 2; i + 1 < code.length(); i++) {
+        if (code.charAt(i) == '*' && code.charAt(i + 1) == '/') {
+          return i + 2;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@link JavaScriptLexer#LITERAL}
+   */
+  private static int stringLiteral(CharSequence code) {
+    char quote = code.charAt(0);
+    int i = 1;
+    while (i < code.length()) {
+      char c = code.charAt(i);
+      if (c == quote) {
+        return i + 1;
+      } else if (c == '\\') {
+        i += 2;
+      } else {
+        i++;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@link JavaScriptLexer#NUMERIC_LITERAL}: alternatives are tried in the same order as in the regular expression.
+   */
+  private static int numericLiteral(CharSequence code) {
+    char first = code.charAt(0);
+    if (first == '.') {
+      int digits = skip(code, 1, DIGIT);
+      if (digits == 1) {
+        return -1;
+      }
+      return optional(code, exponent(code, digits, 'e', 'E'), "fFdD");
+    }
+
+    int digits = skip(code, 0, DIGIT);
+    char next = charAt(code, digits);
+    if (next == '.') {
+      int fraction = skip(code, digits + 1, DIGIT);
+      return optional(code, exponent(code, fraction, 'e', 'E'), "fFdD");
+    }
+    if (isOneOf(next, "fFdD")) {
+      return digits + 1;
+    }
+    int exponent = exponent(code, digits, 'e', 'E');
+    if (exponent > digits) {
+      return optional(code, exponent, "fFdD");
+    }
+
+    if (first == '0' && digits == 1 && isOneOf(next, "xX")) {
+      int hexDigits = skip(code, 2, HEX_DIGIT);
+      if (hexDigits > 2) {
+        return hexLiteral(code, hexDigits);
+      }
+    }
+    if (first == '0' && digits == 1 && isOneOf(next, "bB")) {
+      int binaryDigits = 2;
+      while (isOneOf(charAt(code, binaryDigits), "01")) {
+        binaryDigits++;
+      }
+      if (binaryDigits > 2) {
+        return optional(code, binaryDigits, "lL");
+      }
+    }
+    return optional(code, digits, "lL");
+  }
+
+  private static int hexLiteral(CharSequence code, int hexDigits) {
+    if (charAt(code, hexDigits) == '.') {
+      int fraction = hexDigits + 1;
+      while (is(charAt(code, fraction), HEX_DIGIT) || charAt(code, fraction) == '_') {
+        fraction++;
+      }
+      return optional(code, exponent(code, fraction, 'p', 'P'), "fFdD");
+    }
+    int exponent = exponent(code, hexDigits, 'p', 'P');
+    if (exponent > hexDigits) {
+      return optional(code, exponent, "fFdD");
+    }
+    return optional(code, hexDigits, "lL");
+  }
+
+  /**
+   * Returns the end of the exponent starting at {@code i}, or {@code i} if there is none.
+   */
+  private static int exponent(CharSequence code, int i, char lowerCase, char upperCase) {
+    char c = charAt(code, i);
+    if (c != lowerCase && c != upperCase) {
+      return i;
+    }
+    int j = i + 1;
+    if (charAt(code, j) == '+' || charAt(code, j) == '-') {
+      j++;
+    }
+    int end = j;
+    while (is(charAt(code, end), DIGIT) || charAt(code, end) == '_') {
+      end++;
+    }
+    return end > j ? end : i;
+  }
+
+  /**
+   * {@link JavaScriptLexer#IDENTIFIER}
+   */
+  private static int identifier(CharSequence code) {
+    int i = identifierCharacter(code, 0, true);
+    if (i == -1) {
+      return -1;
+    }
+    int next = identifierCharacter(code, i, false);
+    while (next != -1) {
+      i = next;
+      next = identifierCharacter(code, i, false);
+    }
+    return i;
+  }
+
+  /**
+   * Returns the end of the identifier character or unicode escape sequence starting at {@code i}, or -1 if there is none.
+   */
+  private static int identifierCharacter(CharSequence code, int i, boolean start) {
+    if (i >= code.length()) {
+      return -1;
+    }
+    char c = code.charAt(i);
+    if (c < ASCII.length) {
+      if (is(c, start ? IDENTIFIER_START : IDENTIFIER_PART)) {
+        return i + 1;
+      }
+      return c == '\\' ? unicodeEscapeSequence(code, i) : -1;
+    }
+    int codePoint = Character.codePointAt(code, i);
+    if (isIdentifierCharacter(Character.getType(codePoint), start)) {
+      return i + Character.charCount(codePoint);
+    }
+    return -1;
+  }
+
+  private static boolean isIdentifierCharacter(int type, boolean start) {
+    switch (type) {
+      case Character.UPPERCASE_LETTER:
+      case Character.LOWERCASE_LETTER:
+      case Character.TITLECASE_LETTER:
+      case Character.MODIFIER_LETTER:
+      case Character.OTHER_LETTER:
+      case Character.LETTER_NUMBER:
+        return true;
+      case Character.NON_SPACING_MARK:
+      case Character.COMBINING_SPACING_MARK:
+      case Character.DECIMAL_DIGIT_NUMBER:
+      case Character.CONNECTOR_PUNCTUATION:
+        return !start;
+      default:
+        return false;
+    }
+  }
+
+  private static int unicodeEscapeSequence(CharSequence code, int i) {
+    if (charAt(code, i + 1) != 'u') {
+      return -1;
+    }
+    for (int j = i + 2; j < i + 6; j++) {
+      if (!is(charAt(code, j), HEX_DIGIT)) {
+        return -1;
+      }
+    }
+    return i + 6;
+  }
+
+  private static boolean isWhitespace(char c) {
+    if (c < ASCII.length) {
+      return is(c, WHITESPACE);
+    }
+    // LS, PS, Byte Order Mark and any Unicode space separator, No-break space included
+    return c == '\u2028' || c == '\u2029' || c == '\uFEFF' || Character.getType(c) == Character.SPACE_SEPARATOR;
+  }
+
+  private static boolean isLineFeedOrCarriageReturn(char c) {
+    return c == '\n' || c == '\r';
+  }
+
+  private static boolean is(int c, int flag) {
+    return c >= 0 && c < ASCII.length && (ASCII[c] & flag) != 0;
+  }
+
+  private static int skip(CharSequence code, int i, int flag) {
+    int end = i;
+    while (is(charAt(code, end), flag)) {
+      end++;
+    }
+    return end;
+  }
+
+  private static int optional(CharSequence code, int i, String characters) {
+    return isOneOf(charAt(code, i), characters) ? (i + 1) : i;
+  }
+
+  private static boolean isOneOf(char c, String characters) {
+    return c != 0 && characters.indexOf(c) != -1;
+  }
+
+  private static boolean startsWith(CharSequence code, String prefix) {
+    if (code.length() < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (code.charAt(i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the character at {@code i}, or 0 past the end of the code: 0 is never part of a token scanned here.
+   */
+  private static char charAt(CharSequence code, int i) {
+    return i < code.length() ? code.charAt(i) : 0;
+  }
+
+}
@@ -47,6 +47,25 @@ import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitor;
 
 public class ComplexityVisitor extends DoubleDispatchVisitor {
 
+  /**
+   * Kinds of the trees adding one to the complexity, in addition to functions and to returns which are not the last statement
+   * of a function. Each one has a visit method below adding its keyword or operator.
+   */
+  static final Kind[] COMPLEXITY_KINDS = {
+    Kind.IF_STATEMENT,
+    Kind.WHILE_STATEMENT,
+    Kind.DO_WHILE_STATEMENT,
+    Kind.FOR_STATEMENT,
+    Kind.FOR_IN_STATEMENT,
+    Kind.FOR_OF_STATEMENT,
+    Kind.CASE_CLAUSE,
+    Kind.CATCH_BLOCK,
+    Kind.CONDITIONAL_EXPRESSION,
+    Kind.THROW_STATEMENT,
+    Kind.CONDITIONAL_AND,
+    Kind.CONDITIONAL_OR
+  };
+
   private List<Tree> complexityTrees;
   private Set<Tree> excludedReturns;
 
@@ -0,0 +1,189 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.metrics;
+
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.sonar.api.batch.SensorContext;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.issue.NoSonarFilter;
+import org.sonar.api.measures.CoreMetrics;
+import org.sonar.api.measures.FileLinesContext;
+import org.sonar.api.measures.FileLinesContextFactory;
+import org.sonar.api.measures.Metric;
+import org.sonar.api.measures.PersistenceMode;
+import org.sonar.api.measures.RangeDistributionBuilder;
+
+/**
+ * Measures computed by {@link MetricsVisitor} for one file. They do not reference the tree of the file,
+ * so they can be kept and saved again without parsing it.
+ */
+public class FileMetrics implements Serializable {
+
+  private static final long serialVersionUID = 2L;
+
+  private static final Number[] LIMITS_COMPLEXITY_FUNCTIONS = {1, 2, 4, 6, 8, 10, 12, 20, 30};
+  private static final Number[] FILES_DISTRIB_BOTTOM_LIMITS = {0, 5, 10, 20, 30, 60, 90};
+
+  private final int functions;
+  private final int statements;
+  private final int accessors;
+  private final int classes;
+
+  private final int complexity;
+  private final int complexityInClasses;
+  private final int complexityInFunctions;
+  private final List<Integer> functionComplexities;
+
+  private final int lines;
+  private final BitSet linesOfCode;
+  private final BitSet commentLines;
+  private final BitSet noSonarLines;
+
+  FileMetrics(
+    int functions, int statements, int accessors, int classes,
+    int complexity, int complexityInClasses, List<Integer> functionComplexities,
+    int lines, BitSet linesOfCode, BitSet commentLines, BitSet noSonarLines
+  ) {
+    this.functions = functions;
+    this.statements = statements;
+    this.accessors = accessors;
+    this.classes = classes;
+
+    this.complexity = complexity;
+    this.complexityInClasses = complexityInClasses;
+    this.functionComplexities = ImmutableList.copyOf(functionComplexities);
+    int sum = 0;
+    for (Integer functionComplexity : functionComplexities) {
+      sum += functionComplexity;
+    }
+    this.complexityInFunctions = sum;
+
+    this.lines = lines;
+    this.linesOfCode = (BitSet) linesOfCode.clone();
+    this.commentLines = (BitSet) commentLines.clone();
+    this.noSonarLines = (BitSet) noSonarLines.clone();
+  }
+
+  public int functions() {
+    return functions;
+  }
+
+  public int statements() {
+    return statements;
+  }
+
+  public int accessors() {
+    return accessors;
+  }
+
+  public int classes() {
+    return classes;
+  }
+
+  public int complexity() {
+    return complexity;
+  }
+
+  public int complexityInClasses() {
+    return complexityInClasses;
+  }
+
+  public List<Integer> functionComplexities() {
+    return functionComplexities;
+  }
+
+  public int lines() {
+    return lines;
+  }
+
+  public Set<Integer> linesOfCode() {
+    return toSet(linesOfCode);
+  }
+
+  public Set<Integer> commentLines() {
+    return toSet(commentLines);
+  }
+
+  public Set<Integer> noSonarLines() {
+    return toSet(noSonarLines);
+  }
+
+  public void save(SensorContext sensorContext, InputFile inputFile, NoSonarFilter noSonarFilter, FileLinesContextFactory fileLinesContextFactory) {
+    saveComplexityMetrics(sensorContext, inputFile);
+    saveCounterMetrics(sensorContext, inputFile);
+    saveLineMetrics(sensorContext, inputFile, noSonarFilter, fileLinesContextFactory);
+  }
+
+  private void saveCounterMetrics(SensorContext sensorContext, InputFile inputFile) {
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.FUNCTIONS, functions);
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.STATEMENTS, statements);
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.ACCESSORS, accessors);
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.CLASSES, classes);
+  }
+
+  private void saveComplexityMetrics(SensorContext sensorContext, InputFile inputFile) {
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.COMPLEXITY, complexity);
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.COMPLEXITY_IN_CLASSES, complexityInClasses);
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.COMPLEXITY_IN_FUNCTIONS, complexityInFunctions);
+
+    RangeDistributionBuilder functionComplexityDistribution = new RangeDistributionBuilder(CoreMetrics.FUNCTION_COMPLEXITY_DISTRIBUTION, LIMITS_COMPLEXITY_FUNCTIONS);
+    for (Integer functionComplexity : functionComplexities) {
+      functionComplexityDistribution.add(functionComplexity);
+    }
+    sensorContext.saveMeasure(inputFile, functionComplexityDistribution.build(true).setPersistenceMode(PersistenceMode.MEMORY));
+
+    RangeDistributionBuilder fileComplexityDistribution = new RangeDistributionBuilder(CoreMetrics.FILE_COMPLEXITY_DISTRIBUTION, FILES_DISTRIB_BOTTOM_LIMITS);
+    fileComplexityDistribution.add(complexity);
+    sensorContext.saveMeasure(inputFile, fileComplexityDistribution.build().setPersistenceMode(PersistenceMode.MEMORY));
+  }
+
+  private void saveLineMetrics(SensorContext sensorContext, InputFile inputFile, NoSonarFilter noSonarFilter, FileLinesContextFactory fileLinesContextFactory) {
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.NCLOC, linesOfCode.cardinality());
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.LINES, lines);
+
+    saveMetricOnFile(sensorContext, inputFile, CoreMetrics.COMMENT_LINES, commentLines.cardinality());
+    noSonarFilter.addComponent(sensorContext.getResource(inputFile).getEffectiveKey(), noSonarLines());
+
+    FileLinesContext fileLinesContext = fileLinesContextFactory.createFor(inputFile);
+    for (int line = 1; line <= lines; line++) {
+      fileLinesContext.setIntValue(CoreMetrics.NCLOC_DATA_KEY, line, linesOfCode.get(line) ? 1 : 0);
+      fileLinesContext.setIntValue(CoreMetrics.COMMENT_LINES_DATA_KEY, line, commentLines.get(line) ? 1 : 0);
+    }
+    fileLinesContext.save();
+  }
+
+  private static void saveMetricOnFile(SensorContext sensorContext, InputFile inputFile, Metric metric, double value) {
+    sensorContext.saveMeasure(inputFile, metric, value);
+  }
+
+  private static Set<Integer> toSet(BitSet lines) {
+    Set<Integer> set = new LinkedHashSet<>();
+    for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1)) {
+      set.add(line);
+    }
+    return set;
+  }
+
+}
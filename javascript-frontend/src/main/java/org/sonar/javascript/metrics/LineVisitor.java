@@ -1,71 +0,0 @@
-/*
- * SonarQube JavaScript Plugin
- * Copyright (C) 2011-2016 SonarSource SA
- * mailto:contact AT sonarsource DOT com
- *
- * This program is free software; you can redistribute it and/or
- * modify it under the terms of the GNU Lesser General Public
- * License as published by the Free Software Foundation; either
- * version 3 of the License, or (at your option) any later version.
- *
- * This program is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
- * Lesser General Public License for more details.
- *
- * You should have received a copy of the GNU Lesser General Public License
- * along with this program; if not, write to the Free Software Foundation,
- * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
- */
-package org.sonar.javascript.metrics;
-
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Sets;
-import java.util.List;
-import java.util.Set;
-import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
-import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
-import org.sonar.plugins.javascript.api.tree.Tree;
-import org.sonar.plugins.javascript.api.tree.Tree.Kind;
-import org.sonar.plugins.javascript.api.tree.lexical.SyntaxToken;
-
-/**
- * Visitor that computes the number of lines of code of a file.
- */
-public class LineVisitor extends SubscriptionVisitor {
-
-  private Set<Integer> lines = Sets.newHashSet();
-  private int lastLine = 0;
-
-  public LineVisitor(Tree tree) {
-    scanTree(tree);
-  }
-
-  @Override
-  public List<Kind> nodesToVisit() {
-    return ImmutableList.of(Kind.TOKEN);
-  }
-
-  @Override
-  public void visitNode(Tree tree) {
-    SyntaxToken token = (SyntaxToken) tree;
-    if (!((InternalSyntaxToken) token).isEOF()) {
-      lines.add(token.line());
-
-    } else {
-      lastLine = token.line();
-    }
-  }
-
-  public int getLinesOfCodeNumber() {
-    return lines.size();
-  }
-
-  public Set<Integer> getLinesOfCode() {
-    return lines;
-  }
-
-  public int getLinesNumber() {
-    return lastLine;
-  }
-}
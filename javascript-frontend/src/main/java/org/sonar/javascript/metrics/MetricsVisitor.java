@@ -19,30 +19,40 @@
  */
 package org.sonar.javascript.metrics;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.sonar.api.batch.SensorContext;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.issue.NoSonarFilter;
-import org.sonar.api.measures.CoreMetrics;
-import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
-import org.sonar.api.measures.Metric;
-import org.sonar.api.measures.PersistenceMode;
-import org.sonar.api.measures.RangeDistributionBuilder;
-import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
+import org.sonar.javascript.tree.JavaScriptCommentAnalyser;
+import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.Tree.Kind;
-import org.sonar.plugins.javascript.api.visitors.TreeVisitorContext;
+import org.sonar.plugins.javascript.api.tree.declaration.FunctionTree;
+import org.sonar.plugins.javascript.api.tree.declaration.MethodDeclarationTree;
+import org.sonar.plugins.javascript.api.tree.lexical.SyntaxToken;
+import org.sonar.plugins.javascript.api.tree.lexical.SyntaxTrivia;
+import org.sonar.plugins.javascript.api.tree.statement.BlockTree;
+import org.sonar.plugins.javascript.api.tree.statement.StatementTree;
+import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
 
+/**
+ * Computes all the metrics of a file in a single traversal of its tree.
+ * Complexity is accumulated in one running counter: the complexity of a function or a class
+ * is the difference between the counter when leaving it and when entering it.
+ */
 public class MetricsVisitor extends SubscriptionVisitor {
 
-  private static final Number[] LIMITS_COMPLEXITY_FUNCTIONS = {1, 2, 4, 6, 8, 10, 12, 20, 30};
-  private static final Number[] FILES_DISTRIB_BOTTOM_LIMITS = {0, 5, 10, 20, 30, 60, 90};
-
   private static final Kind[] FUNCTION_NODES = {
     Kind.FUNCTION_DECLARATION,
     Kind.FUNCTION_EXPRESSION,
@@ -57,19 +67,62 @@ public class MetricsVisitor extends SubscriptionVisitor {
     Kind.CLASS_EXPRESSION
   };
 
+  private static final Kind[] ACCESSOR_NODES = {
+    Kind.GET_METHOD,
+    Kind.SET_METHOD
+  };
+
+  private static final Kind[] STATEMENT_NODES = {
+    Kind.VARIABLE_STATEMENT,
+    Kind.EMPTY_STATEMENT,
+    Kind.EXPRESSION_STATEMENT,
+    Kind.IF_STATEMENT,
+    Kind.DO_WHILE_STATEMENT,
+    Kind.WHILE_STATEMENT,
+    Kind.FOR_IN_STATEMENT,
+    Kind.FOR_OF_STATEMENT,
+    Kind.FOR_STATEMENT,
+    Kind.CONTINUE_STATEMENT,
+    Kind.BREAK_STATEMENT,
+    Kind.RETURN_STATEMENT,
+    Kind.WITH_STATEMENT,
+    Kind.SWITCH_STATEMENT,
+    Kind.THROW_STATEMENT,
+    Kind.TRY_STATEMENT,
+    Kind.DEBUGGER_STATEMENT
+  };
+
+  private static final List<Kind> NODES_TO_VISIT = nodesToVisit(
+    FUNCTION_NODES, CLASS_NODES, ACCESSOR_NODES, STATEMENT_NODES, ComplexityVisitor.COMPLEXITY_KINDS, new Kind[] {Kind.RETURN_STATEMENT, Kind.TOKEN});
+
   private final FileSystem fs;
   private final SensorContext sensorContext;
   private InputFile inputFile;
   private NoSonarFilter noSonarFilter;
   private final Boolean ignoreHeaderComments;
   private FileLinesContextFactory fileLinesContextFactory;
+  private final JavaScriptCommentAnalyser commentAnalyser = new JavaScriptCommentAnalyser();
+
+  private int functions;
+  private int statements;
+  private int accessors;
+  private int classes;
+
+  private int complexity;
+  private int complexityInClasses;
+  private List<Integer> functionComplexities;
+  private Set<Tree> excludedReturns;
+  // for each enclosing function or class: complexity when entering it and index in functionComplexities (-1 for classes)
+  private Deque<int[]> enclosingComplexities;
 
-  private int classComplexity;
-  private int functionComplexity;
-  private RangeDistributionBuilder functionComplexityDistribution;
-  private RangeDistributionBuilder fileComplexityDistribution;
+  private int lines;
+  private BitSet linesOfCode;
+  private BitSet commentLines;
+  private BitSet noSonarLines;
+  // seenFirstToken is required to track header comments (header comments are saved as trivias of first non-trivia token)
+  private boolean seenFirstToken;
 
-  private ComplexityVisitor complexityVisitor;
+  private FileMetrics fileMetrics;
 
   public MetricsVisitor(FileSystem fs, SensorContext context, NoSonarFilter noSonarFilter, Boolean ignoreHeaderComments, FileLinesContextFactory fileLinesContextFactory) {
     this.fs = fs;
@@ -77,97 +130,158 @@ public class MetricsVisitor extends SubscriptionVisitor {
     this.noSonarFilter = noSonarFilter;
     this.ignoreHeaderComments = ignoreHeaderComments;
     this.fileLinesContextFactory = fileLinesContextFactory;
-    this.complexityVisitor = new ComplexityVisitor();
   }
 
   @Override
   public List<Kind> nodesToVisit() {
-    List<Kind> result = new ArrayList<>(Arrays.asList(FUNCTION_NODES));
-    result.addAll(Arrays.asList(CLASS_NODES));
-    return result;
+    return NODES_TO_VISIT;
+  }
+
+  @Override
+  public void visitFile(Tree scriptTree) {
+    this.inputFile = fs.inputFile(fs.predicates().is(getContext().getFile()));
+    init();
   }
 
   @Override
   public void leaveFile(Tree scriptTree) {
-    saveComplexityMetrics(getContext());
-    saveCounterMetrics(getContext());
-    saveLineMetrics(getContext());
+    fileMetrics = new FileMetrics(
+      functions, statements, accessors, classes,
+      complexity, complexityInClasses, functionComplexities,
+      lines, linesOfCode, commentLines, noSonarLines);
+
+    fileMetrics.save(sensorContext, inputFile, noSonarFilter, fileLinesContextFactory);
   }
 
   @Override
   public void visitNode(Tree tree) {
-    if (tree.is(CLASS_NODES)) {
-      classComplexity += complexityVisitor.getComplexity(tree);
-
-    } else if (tree.is(FUNCTION_NODES)) {
-      int currentFunctionComplexity = complexityVisitor.getComplexity(tree);
-      this.functionComplexity += currentFunctionComplexity;
-      functionComplexityDistribution.add(currentFunctionComplexity);
+    if (tree.is(Kind.TOKEN)) {
+      visitToken((SyntaxToken) tree);
+      return;
     }
-  }
 
+    if (tree.is(STATEMENT_NODES)) {
+      statements++;
+    }
 
+    if (tree.is(FUNCTION_NODES)) {
+      functions++;
+      enclosingComplexities.push(new int[] {complexity, functionComplexities.size()});
+      functionComplexities.add(0);
+      complexity++;
+      excludeLastReturn(functionBody(tree));
 
-  @Override
-  public void visitFile(Tree scriptTree) {
-    this.inputFile = fs.inputFile(fs.predicates().is(getContext().getFile()));
-    init();
-  }
+    } else if (tree.is(ACCESSOR_NODES)) {
+      accessors++;
+      excludeLastReturn(((MethodDeclarationTree) tree).body());
 
+    } else if (tree.is(CLASS_NODES)) {
+      classes++;
+      enclosingComplexities.push(new int[] {complexity, -1});
 
+    } else if (tree.is(Kind.RETURN_STATEMENT)) {
+      if (!excludedReturns.remove(tree)) {
+        complexity++;
+      }
 
-  private void init() {
-    classComplexity = 0;
-    functionComplexity = 0;
-    functionComplexityDistribution = new RangeDistributionBuilder(CoreMetrics.FUNCTION_COMPLEXITY_DISTRIBUTION, LIMITS_COMPLEXITY_FUNCTIONS);
-    fileComplexityDistribution = new RangeDistributionBuilder(CoreMetrics.FILE_COMPLEXITY_DISTRIBUTION, FILES_DISTRIB_BOTTOM_LIMITS);
+    } else if (tree.is(ComplexityVisitor.COMPLEXITY_KINDS)) {
+      complexity++;
+    }
   }
 
-  private void saveCounterMetrics(TreeVisitorContext context) {
-    CounterVisitor counter = new CounterVisitor(context.getTopTree());
-    saveMetricOnFile(CoreMetrics.FUNCTIONS, counter.getFunctionNumber());
-    saveMetricOnFile(CoreMetrics.STATEMENTS, counter.getStatementsNumber());
-    saveMetricOnFile(CoreMetrics.ACCESSORS, counter.getAccessorsNumber());
-    saveMetricOnFile(CoreMetrics.CLASSES, counter.getClassNumber());
+  @Override
+  public void leaveNode(Tree tree) {
+    if (tree.is(FUNCTION_NODES) || tree.is(CLASS_NODES)) {
+      int[] enclosing = enclosingComplexities.pop();
+      int enclosedComplexity = complexity - enclosing[0];
+      if (enclosing[1] < 0) {
+        complexityInClasses += enclosedComplexity;
+      } else {
+        functionComplexities.set(enclosing[1], enclosedComplexity);
+      }
+    }
   }
 
-  private void saveComplexityMetrics(TreeVisitorContext context) {
-    int fileComplexity = complexityVisitor.getComplexity(context.getTopTree());
-
-    saveMetricOnFile(CoreMetrics.COMPLEXITY, fileComplexity);
-    saveMetricOnFile(CoreMetrics.COMPLEXITY_IN_CLASSES, classComplexity);
-    saveMetricOnFile(CoreMetrics.COMPLEXITY_IN_FUNCTIONS, functionComplexity);
-
-    sensorContext.saveMeasure(inputFile, functionComplexityDistribution.build(true).setPersistenceMode(PersistenceMode.MEMORY));
+  private void visitToken(SyntaxToken token) {
+    if (((InternalSyntaxToken) token).isEOF()) {
+      lines = token.line();
+    } else {
+      linesOfCode.set(token.line());
+    }
 
-    fileComplexityDistribution.add(fileComplexity);
-    sensorContext.saveMeasure(inputFile, fileComplexityDistribution.build().setPersistenceMode(PersistenceMode.MEMORY));
+    for (SyntaxTrivia trivia : token.trivias()) {
+      if ((ignoreHeaderComments && seenFirstToken) || !ignoreHeaderComments) {
+        String[] contentLines = commentAnalyser.getContents(trivia.text())
+          .split("(\r)?\n|\r", -1);
+        int lineNumber = trivia.line();
+        for (String commentLine : contentLines) {
+          if (commentLine.contains("NOSONAR")) {
+            noSonarLines.set(lineNumber);
+          } else if (!commentAnalyser.isBlank(commentLine)) {
+            commentLines.set(lineNumber);
+          }
+          lineNumber++;
+        }
+      } else {
+        seenFirstToken = true;
+      }
+    }
+    seenFirstToken = true;
   }
 
-  private void saveLineMetrics(TreeVisitorContext context) {
-    LineVisitor lineVisitor = new LineVisitor(context.getTopTree());
-    int linesNumber = lineVisitor.getLinesNumber();
-    Set<Integer> linesOfCode = lineVisitor.getLinesOfCode();
-
-    saveMetricOnFile(CoreMetrics.NCLOC, lineVisitor.getLinesOfCodeNumber());
-    saveMetricOnFile(CoreMetrics.LINES, linesNumber);
+  private static BlockTree functionBody(Tree tree) {
+    if (tree instanceof FunctionTree) {
+      return ((FunctionTree) tree).body();
+    }
+    return ((MethodDeclarationTree) tree).body();
+  }
 
-    CommentLineVisitor commentVisitor = new CommentLineVisitor(context.getTopTree(), ignoreHeaderComments);
-    Set<Integer> commentLines = commentVisitor.getCommentLines();
+  private void excludeLastReturn(BlockTree body) {
+    List<StatementTree> bodyStatements = body.statements();
+    if (bodyStatements.isEmpty()) {
+      return;
+    }
+    StatementTree tree = bodyStatements.get(bodyStatements.size() - 1);
+    if (tree.is(Kind.RETURN_STATEMENT)) {
+      excludedReturns.add(tree);
+    }
+  }
 
-    saveMetricOnFile(CoreMetrics.COMMENT_LINES, commentVisitor.getCommentLineNumber());
-    noSonarFilter.addComponent(sensorContext.getResource(inputFile).getEffectiveKey(), commentVisitor.noSonarLines());
+  private void init() {
+    functions = 0;
+    statements = 0;
+    accessors = 0;
+    classes = 0;
+
+    complexity = 0;
+    complexityInClasses = 0;
+    functionComplexities = new ArrayList<>();
+    excludedReturns = new HashSet<>();
+    enclosingComplexities = new ArrayDeque<>();
+
+    lines = 0;
+    linesOfCode = new BitSet();
+    commentLines = new BitSet();
+    noSonarLines = new BitSet();
+    seenFirstToken = false;
+
+    fileMetrics = null;
+  }
 
-    FileLinesContext fileLinesContext = fileLinesContextFactory.createFor(inputFile);
-    for (int line = 1; line <= linesNumber; line++) {
-      fileLinesContext.setIntValue(CoreMetrics.NCLOC_DATA_KEY, line, linesOfCode.contains(line) ? 1 : 0);
-      fileLinesContext.setIntValue(CoreMetrics.COMMENT_LINES_DATA_KEY, line, commentLines.contains(line) ? 1 : 0);
+  private static List<Kind> nodesToVisit(Kind[]... kindGroups) {
+    Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+    for (Kind[] kindGroup : kindGroups) {
+      kinds.addAll(Arrays.asList(kindGroup));
     }
-    fileLinesContext.save();
+    return new ArrayList<>(kinds);
   }
 
-  private void saveMetricOnFile(Metric metric, double value) {
-    sensorContext.saveMeasure(inputFile, metric, value);
+  /**
+   * @return the metrics saved for the last visited file, null before the end of the first file
+   */
+  @Nullable
+  public FileMetrics fileMetrics() {
+    return fileMetrics;
   }
 
   public static Kind[] getClassNodes() {
@@ -368,7 +368,7 @@ public class JavaScriptGrammar {
 
   public ExpressionStatementTreeImpl EXPRESSION_STATEMENT() {
     return b.<ExpressionStatementTreeImpl>nonterminal(Kind.EXPRESSION_STATEMENT)
-      .is(f.expressionStatement(b.token(JavaScriptLegacyGrammar.NEXT_NOT_LCURLY_AND_FUNCTION), EXPRESSION(), b.token(JavaScriptLegacyGrammar.EOS)));
+      .is(f.expressionStatement(b.token(JavaScriptLegacyGrammar.NEXT_NOT_LCURLY_FUNCTION_AND_STATEMENT_KEYWORD), EXPRESSION(), b.token(JavaScriptLegacyGrammar.EOS)));
   }
 
   /**
@@ -1169,20 +1169,30 @@ public class JavaScriptGrammar {
         ));
   }
 
+  /**
+   * Other first tokens are rejected up front, instead of failing in turn on each alternative.
+   */
   public ExpressionTree ES6_ASSIGNMENT_EXPRESSION() {
     return b.<ExpressionTree>nonterminal()
-      .is(b.firstOf(YIELD_EXPRESSION(), ARROW_FUNCTION()));
+      .is(f.skipLookahead5(
+        b.token(JavaScriptLegacyGrammar.NEXT_IDENTIFIER_OR_LPARENTHESIS),
+        b.firstOf(YIELD_EXPRESSION(), ARROW_FUNCTION())));
   }
 
   public ExpressionTree ES6_ASSIGNMENT_EXPRESSION_NO_IN() {
     return b.<ExpressionTree>nonterminal()
-      .is(b.firstOf(YIELD_EXPRESSION_NO_IN(), ARROW_FUNCTION_NO_IN()));
+      .is(f.skipLookahead6(
+        b.token(JavaScriptLegacyGrammar.NEXT_IDENTIFIER_OR_LPARENTHESIS),
+        b.firstOf(YIELD_EXPRESSION_NO_IN(), ARROW_FUNCTION_NO_IN())));
   }
 
   public ExpressionTree ASSIGNMENT_EXPRESSION() {
     return b.<ExpressionTree>nonterminal(JavaScriptLegacyGrammar.ASSIGNMENT_EXPRESSION)
       .is(
         b.firstOf(
+          // Arrow functions and yield expressions come first: when they match, the other alternatives cannot,
+          // and arrow function parameters are not parsed a second time as a parenthesised expression.
+          ES6_ASSIGNMENT_EXPRESSION(),
           f.assignmentExpression(
             LEFT_HAND_SIDE_EXPRESSION(),
             b.firstOf(
@@ -1199,8 +1209,7 @@ public class JavaScriptGrammar {
               b.token(JavaScriptPunctuator.XOR_EQU),
               b.token(JavaScriptPunctuator.OR_EQU)),
             ASSIGNMENT_EXPRESSION()),
-          CONDITIONAL_EXPRESSION_NOT_ES6_ASSIGNMENT_EXPRESSION(),
-          ES6_ASSIGNMENT_EXPRESSION()
+          CONDITIONAL_EXPRESSION_NOT_ES6_ASSIGNMENT_EXPRESSION()
         ));
   }
 
@@ -1208,6 +1217,8 @@ public class JavaScriptGrammar {
     return b.<ExpressionTree>nonterminal(JavaScriptLegacyGrammar.ASSIGNMENT_EXPRESSION_NO_IN)
       .is(
         b.firstOf(
+          // Same order as ASSIGNMENT_EXPRESSION
+          ES6_ASSIGNMENT_EXPRESSION_NO_IN(),
           f.assignmentExpressionNoIn(
             LEFT_HAND_SIDE_EXPRESSION(),
             b.firstOf(
@@ -1224,7 +1235,6 @@ public class JavaScriptGrammar {
               b.token(JavaScriptPunctuator.XOR_EQU),
               b.token(JavaScriptPunctuator.OR_EQU)),
             ASSIGNMENT_EXPRESSION_NO_IN()),
-          ES6_ASSIGNMENT_EXPRESSION_NO_IN(),
           CONDITIONAL_EXPRESSION_NO_IN()
         ));
   }
@@ -28,7 +28,6 @@ import org.sonar.sslr.grammar.GrammarRuleKey;
 import org.sonar.sslr.grammar.LexerlessGrammarBuilder;
 import org.sonar.sslr.parser.LexerlessGrammar;
 
-import static org.sonar.javascript.lexer.JavaScriptKeyword.FUNCTION;
 import static org.sonar.javascript.lexer.JavaScriptPunctuator.AND;
 import static org.sonar.javascript.lexer.JavaScriptPunctuator.ANDAND;
 import static org.sonar.javascript.lexer.JavaScriptPunctuator.AND_EQU;
@@ -283,12 +282,21 @@ public enum JavaScriptLegacyGrammar implements GrammarRuleKey {
 
   // Temporary rules for migration
   NEXT_NOT_LET,
-  NEXT_NOT_LCURLY_AND_FUNCTION,
+  NEXT_NOT_LCURLY_FUNCTION_AND_STATEMENT_KEYWORD,
   NEXT_NOT_LCURLY,
   NEXT_NOT_LET_AND_BRACKET,
   NEXT_NOT_ES6_ASSIGNMENT_EXPRESSION,
+  NEXT_IDENTIFIER_OR_LPARENTHESIS,
   NEXT_NOT_FUNCTION_AND_CLASS;
 
+  /**
+   * "{", "function", and the keywords which are neither part of an identifier nor allowed at the start of an expression.
+   */
+  private static final String NOT_EXPRESSION_STATEMENT_START = "\\{|(?:"
+    + "function|break|case|catch|const|continue|debugger|default|do|else|enum|export|extends|finally|for|if|import|in|instanceof"
+    + "|return|switch|throw|try|var|while|with"
+    + ")(?!\\p{javaJavaIdentifierPart})";
+
   public static LexerlessGrammar createGrammar() {
     return createGrammarBuilder().build();
   }
@@ -382,9 +390,13 @@ public enum JavaScriptLegacyGrammar implements GrammarRuleKey {
     // Temporary rules waiting for b.nextNot method migration
     b.rule(NEXT_NOT_LET_AND_BRACKET).is(b.nextNot(LET, LBRACKET));
     b.rule(NEXT_NOT_LET).is(b.nextNot(LET));
-    b.rule(NEXT_NOT_LCURLY_AND_FUNCTION).is(b.nextNot(b.firstOf(LCURLYBRACE, FUNCTION)));
+    // FIRST set check of expression statements: a single regular expression rejects "{", "function" and the keywords
+    // which cannot start an expression, so that statements starting with them do not go down the whole expression grammar
+    b.rule(NEXT_NOT_LCURLY_FUNCTION_AND_STATEMENT_KEYWORD).is(b.nextNot(SPACING, b.regexp(NOT_EXPRESSION_STATEMENT_START)));
     b.rule(NEXT_NOT_FUNCTION_AND_CLASS).is(b.nextNot(JavaScriptKeyword.FUNCTION, JavaScriptKeyword.CLASS));
     b.rule(NEXT_NOT_LCURLY).is(b.nextNot(LCURLYBRACE));
+    // FIRST set check of arrow functions and yield expressions, which start with an identifier, "yield" or "("
+    b.rule(NEXT_IDENTIFIER_OR_LPARENTHESIS).is(b.next(SPACING, b.regexp("\\(|" + JavaScriptLexer.IDENTIFIER)));
     // Negative lookahead to prevent conflicts with ES6_ASSIGNMENT_EXPRESSION
     b.rule(NEXT_NOT_ES6_ASSIGNMENT_EXPRESSION).is(
       b.nextNot(
@@ -19,7 +19,7 @@
  */
 package org.sonar.javascript.parser;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 import com.sonar.sslr.api.GenericTokenType;
 import com.sonar.sslr.api.Rule;
 import com.sonar.sslr.api.Token;
@@ -27,6 +27,7 @@ import com.sonar.sslr.api.TokenType;
 import com.sonar.sslr.api.Trivia;
 import com.sonar.sslr.api.typed.Input;
 import com.sonar.sslr.api.typed.NodeBuilder;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import org.sonar.javascript.tree.impl.JavaScriptTree;
@@ -37,10 +38,21 @@ import org.sonar.plugins.javascript.api.tree.lexical.SyntaxTrivia;
 import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitor;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
+/**
+ * Creates tokens with as few allocations as possible: the byte order mark is looked for once per input,
+ * tokens without trivia share the same empty list and tokens with the same text share the same string.
+ * An instance must not be used by several parsers at the same time.
+ */
 public class JavaScriptNodeBuilder implements NodeBuilder {
 
   public static final char BYTE_ORDER_MARK = '\uFEFF';
 
+  private static final List<SyntaxTrivia> NO_TRIVIA = ImmutableList.of();
+
+  private final TokenTexts tokenTexts = new TokenTexts();
+  private Input currentInput = null;
+  private boolean hasByteOrderMark = false;
+
   @Override
   public Object createNonTerminal(GrammarRuleKey ruleKey, Rule rule, List<Object> children, int startIndex, int endIndex) {
     for (Object child : children) {
@@ -54,19 +66,32 @@ public class JavaScriptNodeBuilder implements NodeBuilder {
   @Override
   public Object createTerminal(Input input, int startIndex, int endIndex, List<Trivia> trivias, TokenType type) {
     char[] fileChars = input.input();
-    boolean hasByteOrderMark = fileChars.length > 0 && fileChars[0] == BYTE_ORDER_MARK;
+    if (input != currentInput) {
+      currentInput = input;
+      hasByteOrderMark = fileChars.length > 0 && fileChars[0] == BYTE_ORDER_MARK;
+    }
     boolean isEof = GenericTokenType.EOF.equals(type);
-    LineColumnValue lineColumnValue = tokenPosition(input, startIndex, endIndex);
+    int[] lineAndColumn = input.lineAndColumnAt(startIndex);
+    int line = lineAndColumn[0];
     return new InternalSyntaxToken(
-      lineColumnValue.line,
-      column(hasByteOrderMark, lineColumnValue.line, lineColumnValue.column),
-      lineColumnValue.value,
+      line,
+      column(hasByteOrderMark, line, lineAndColumn[1] - 1),
+      tokenTexts.get(fileChars, startIndex, endIndex),
       createTrivias(trivias, hasByteOrderMark),
       startIndex - (hasByteOrderMark ? 1 : 0),
       isEof
     );
   }
 
+  /**
+   * Forgets the last input and the token texts, so that they are not kept alive while the parser is idle.
+   */
+  void reset() {
+    currentInput = null;
+    hasByteOrderMark = false;
+    tokenTexts.clear();
+  }
+
   private static int column(boolean hasByteOrderMark, int line, int column) {
     if (hasByteOrderMark && line == 1) {
       return column - 1;
@@ -75,7 +100,10 @@ public class JavaScriptNodeBuilder implements NodeBuilder {
   }
 
   private static List<SyntaxTrivia> createTrivias(List<Trivia> trivias, boolean hasByteOrderMark) {
-    List<SyntaxTrivia> result = Lists.newArrayList();
+    if (trivias.isEmpty()) {
+      return NO_TRIVIA;
+    }
+    List<SyntaxTrivia> result = new ArrayList<>(trivias.size());
     for (Trivia trivia : trivias) {
       Token trivialToken = trivia.getToken();
       int column = column(hasByteOrderMark, trivialToken.getLine(), trivialToken.getColumn());
@@ -84,24 +112,6 @@ public class JavaScriptNodeBuilder implements NodeBuilder {
     return result;
   }
 
-  private static LineColumnValue tokenPosition(Input input, int startIndex, int endIndex) {
-    int[] lineAndColumn = input.lineAndColumnAt(startIndex);
-    String value = input.substring(startIndex, endIndex);
-    return new LineColumnValue(lineAndColumn[0], lineAndColumn[1] - 1, value);
-  }
-
-  private static class LineColumnValue {
-    final int line;
-    final int column;
-    final String value;
-
-    private LineColumnValue(int line, int column, String value) {
-      this.line = line;
-      this.column = column;
-      this.value = value;
-    }
-  }
-
   private static class InternalSyntaxSpacing extends JavaScriptTree {
 
     @Override
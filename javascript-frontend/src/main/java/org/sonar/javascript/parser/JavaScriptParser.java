@@ -0,0 +1,84 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.parser;
+
+import com.sonar.sslr.api.typed.ActionParser;
+import java.io.File;
+import java.nio.charset.Charset;
+import org.sonar.javascript.tree.impl.TreeIndex;
+import org.sonar.javascript.tree.impl.declaration.ScriptTreeImpl;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Parser of JavaScript code, returning trees whose nodes are linked to their parent and, for whole files, indexed by kind.
+ */
+public class JavaScriptParser extends ActionParser<Tree> {
+
+  private final Charset charset;
+  private final JavaScriptNodeBuilder nodeBuilder;
+
+  public JavaScriptParser(Charset charset) {
+    this(charset, new JavaScriptNodeBuilder());
+  }
+
+  private JavaScriptParser(Charset charset, JavaScriptNodeBuilder nodeBuilder) {
+    super(
+      charset,
+      JavaScriptLegacyGrammar.createGrammarBuilder(),
+      JavaScriptGrammar.class,
+      new TreeFactory(),
+      nodeBuilder,
+      JavaScriptLegacyGrammar.SCRIPT);
+    this.charset = charset;
+    this.nodeBuilder = nodeBuilder;
+  }
+
+  public Charset charset() {
+    return charset;
+  }
+
+  /**
+   * Drops the state kept from the last parsed input, before the parser goes back to the pool of {@link JavaScriptParserBuilder}.
+   */
+  void reset() {
+    nodeBuilder.reset();
+  }
+
+  @Override
+  public Tree parse(File file) {
+    Tree tree = super.parse(file);
+    return index(tree);
+  }
+
+  @Override
+  public Tree parse(String source) {
+    Tree tree = super.parse(source);
+    return index(tree);
+  }
+
+  private static Tree index(Tree tree) {
+    TreeIndex index = TreeIndex.build(tree);
+    if (tree instanceof ScriptTreeImpl) {
+      ((ScriptTreeImpl) tree).setIndex(index);
+    }
+    return tree;
+  }
+
+}
@@ -21,21 +21,82 @@ package org.sonar.javascript.parser;
 
 import com.sonar.sslr.api.typed.ActionParser;
 import java.nio.charset.Charset;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.sonar.plugins.javascript.api.tree.Tree;
 
 public final class JavaScriptParserBuilder {
 
+  private static final ConcurrentMap<Charset, IdleParsers> IDLE_PARSERS = new ConcurrentHashMap<>();
+
   private JavaScriptParserBuilder() {
   }
 
+  /**
+   * Builds a new parser, owned by the caller.
+   */
   public static ActionParser<Tree> createParser(Charset charset) {
-    return new ActionParser<>(
-      charset,
-      JavaScriptLegacyGrammar.createGrammarBuilder(),
-      JavaScriptGrammar.class,
-      new TreeFactory(),
-      new JavaScriptNodeBuilder(),
-      JavaScriptLegacyGrammar.SCRIPT);
+    return new JavaScriptParser(charset);
+  }
+
+  /**
+   * Returns a parser for the given charset, to be used by one thread at a time until it is given back with {@link #releaseParser}.
+   * <p>
+   * Building a parser is costly: the grammar is built, its rules are bound to the tree factory through reflection and compiled.
+   * A parser cannot be used by several threads at once, so parsers are not shared but pooled: released parsers are kept
+   * until {@link #clearIdleParsers()} and handed out again, instead of being rebuilt for each analysis thread.
+   * </p>
+   */
+  public static JavaScriptParser acquireParser(Charset charset) {
+    IdleParsers idleParsers = idleParsers(charset);
+    JavaScriptParser parser = idleParsers.parsers.poll();
+    if (parser == null) {
+      return new JavaScriptParser(charset);
+    }
+    idleParsers.count.decrementAndGet();
+    return parser;
+  }
+
+  /**
+   * Gives back a parser obtained from {@link #acquireParser}. It is kept for later use unless {@code maxIdleParsers}
+   * parsers of its charset are already idle, e.g. as many as the analysis threads: it is then left to the garbage collector.
+   */
+  public static void releaseParser(JavaScriptParser parser, int maxIdleParsers) {
+    parser.reset();
+    IdleParsers idleParsers = idleParsers(parser.charset());
+    if (idleParsers.count.incrementAndGet() <= maxIdleParsers) {
+      idleParsers.parsers.add(parser);
+    } else {
+      idleParsers.count.decrementAndGet();
+    }
+  }
+
+  /**
+   * Drops the idle parsers of all charsets, e.g. once a sensor has analysed all its files, so they do not outlive it.
+   */
+  public static void clearIdleParsers() {
+    IDLE_PARSERS.clear();
+  }
+
+  private static IdleParsers idleParsers(Charset charset) {
+    IdleParsers idleParsers = IDLE_PARSERS.get(charset);
+    if (idleParsers == null) {
+      IDLE_PARSERS.putIfAbsent(charset, new IdleParsers());
+      idleParsers = IDLE_PARSERS.get(charset);
+    }
+    return idleParsers;
+  }
+
+  /**
+   * Idle parsers of a charset. The queue is not asked for its size, which is not constant-time: {@code count} is
+   * incremented before a parser is added and decremented after one is removed, so it never underestimates the queue size.
+   */
+  private static final class IdleParsers {
+    private final Queue<JavaScriptParser> parsers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger count = new AtomicInteger();
   }
 
 }
@@ -0,0 +1,108 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.parser;
+
+/**
+ * Hash table of token texts looked up by character ranges, so that tokens with the same text
+ * (keywords, punctuators, repeated identifiers) share a single string, created only for the first of them.
+ * The table is cleared when it gets too large, so that it does not keep the texts of all analysed files.
+ */
+class TokenTexts {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_SIZE = 1 << 16;
+
+  private String[] texts = new String[INITIAL_CAPACITY];
+  private int size = 0;
+
+  String get(char[] chars, int start, int end) {
+    int hash = hash(chars, start, end);
+    int mask = texts.length - 1;
+    int index = hash & mask;
+    String text = texts[index];
+    while (text != null) {
+      if (text.hashCode() == hash && matches(text, chars, start, end)) {
+        return text;
+      }
+      index = (index + 1) & mask;
+      text = texts[index];
+    }
+
+    text = new String(chars, start, end - start);
+    if (size >= MAX_SIZE) {
+      clear();
+      return text;
+    }
+    texts[index] = text;
+    size++;
+    if (2 * size > texts.length) {
+      rehash();
+    }
+    return text;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    texts = new String[INITIAL_CAPACITY];
+    size = 0;
+  }
+
+  private void rehash() {
+    String[] oldTexts = texts;
+    texts = new String[oldTexts.length * 2];
+    int mask = texts.length - 1;
+    for (String text : oldTexts) {
+      if (text != null) {
+        int index = text.hashCode() & mask;
+        while (texts[index] != null) {
+          index = (index + 1) & mask;
+        }
+        texts[index] = text;
+      }
+    }
+  }
+
+  /**
+   * Same value as {@link String#hashCode()} for the characters of the range.
+   */
+  private static int hash(char[] chars, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return hash;
+  }
+
+  private static boolean matches(String text, char[] chars, int start, int end) {
+    if (text.length() != end - start) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) != chars[start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -1448,6 +1448,14 @@ public class TreeFactory {
     return expression;
   }
 
+  public ExpressionTree skipLookahead5(Tree lookahead, ExpressionTree expression) {
+    return expression;
+  }
+
+  public ExpressionTree skipLookahead6(Tree lookahead, ExpressionTree expression) {
+    return expression;
+  }
+
   // [END] Destructuring pattern
 
   // [END] Classes, methods, functions & generators
@@ -21,6 +21,8 @@ package org.sonar.javascript.tree;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -60,28 +62,75 @@ public final class SyntacticEquivalence {
   }
 
   private static boolean areEquivalent(@Nullable JavaScriptTree leftNode, @Nullable JavaScriptTree rightNode) {
-    if (leftNode == rightNode) {
-      return true;
-    }
-    if (leftNode == null || rightNode == null) {
+    if (!areShallowEquivalent(leftNode, rightNode)) {
       return false;
-    }
-    if (leftNode.getKind() != rightNode.getKind()) {
+    } else if (leftNode == rightNode || leftNode.isLeaf()) {
+      return true;
+    } else if (leftNode.structuralHash() != rightNode.structuralHash()) {
       return false;
-    } else if (leftNode.isLeaf()) {
-      return areLeafsEquivalent(leftNode, rightNode);
     }
 
-    Iterator<Tree> iteratorA = leftNode.childrenIterator();
-    Iterator<Tree> iteratorB = rightNode.childrenIterator();
+    // children are compared with explicit stacks rather than recursively, so that deeply nested trees cannot overflow the call stack
+    Deque<Iterator<Tree>> leftIterators = new ArrayDeque<>();
+    Deque<Iterator<Tree>> rightIterators = new ArrayDeque<>();
+    leftIterators.push(leftNode.childrenIterator());
+    rightIterators.push(rightNode.childrenIterator());
+
+    while (!leftIterators.isEmpty()) {
+      Iterator<Tree> iteratorA = leftIterators.peek();
+      Iterator<Tree> iteratorB = rightIterators.peek();
+
+      if (iteratorA.hasNext() && iteratorB.hasNext()) {
+        JavaScriptTree leftChild = (JavaScriptTree) iteratorA.next();
+        JavaScriptTree rightChild = (JavaScriptTree) iteratorB.next();
+        if (!areShallowEquivalent(leftChild, rightChild)) {
+          return false;
+        } else if (leftChild != rightChild && !leftChild.isLeaf()) {
+          leftIterators.push(leftChild.childrenIterator());
+          rightIterators.push(rightChild.childrenIterator());
+        }
 
-    while (iteratorA.hasNext() && iteratorB.hasNext()) {
-      if (!areEquivalent(iteratorA.next(), iteratorB.next())) {
+      } else if (iteratorA.hasNext() || iteratorB.hasNext()) {
         return false;
+
+      } else {
+        leftIterators.pop();
+        rightIterators.pop();
       }
     }
 
-    return !iteratorA.hasNext() && !iteratorB.hasNext();
+    return true;
+  }
+
+  /**
+   * @return true, if nodes are of the same kind and, for leaves, have the same text. Children are not compared.
+   */
+  private static boolean areShallowEquivalent(@Nullable JavaScriptTree leftNode, @Nullable JavaScriptTree rightNode) {
+    if (leftNode == rightNode) {
+      return true;
+    } else if (leftNode == null || rightNode == null || leftNode.getKind() != rightNode.getKind()) {
+      return false;
+    }
+    return !leftNode.isLeaf() || areLeafsEquivalent(leftNode, rightNode);
+  }
+
+  /**
+   * @return a hash of the tree, computed once from the kinds of its subtrees and the texts of its leaves:
+   * equivalent trees have the same hash, so that only trees with the same hash need to be compared
+   */
+  public static int hash(@Nullable Tree tree) {
+    return tree == null ? 0 : ((JavaScriptTree) tree).structuralHash();
+  }
+
+  /**
+   * @return a hash of the trees, the same for equivalent lists of trees
+   */
+  public static int hash(List<? extends Tree> trees) {
+    int hash = 1;
+    for (Tree tree : trees) {
+      hash = 31 * hash + hash(tree);
+    }
+    return hash;
   }
 
   /**
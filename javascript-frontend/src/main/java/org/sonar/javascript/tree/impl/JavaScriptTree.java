@@ -19,12 +19,46 @@
  */
 package org.sonar.javascript.tree.impl;
 
+import com.google.common.base.Objects;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import javax.annotation.Nullable;
 import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.expression.IdentifierTree;
 import org.sonar.plugins.javascript.api.tree.lexical.SyntaxToken;
 
 public abstract class JavaScriptTree implements Tree {
 
+  private static final Kind[] FUNCTION_KINDS = {
+    Kind.FUNCTION_DECLARATION,
+    Kind.FUNCTION_EXPRESSION,
+    Kind.GENERATOR_DECLARATION,
+    Kind.GENERATOR_FUNCTION_EXPRESSION,
+    Kind.METHOD,
+    Kind.GENERATOR_METHOD,
+    Kind.GET_METHOD,
+    Kind.SET_METHOD,
+    Kind.ARROW_FUNCTION
+  };
+
+  private Tree parent;
+
+  // Kinds of the trees of the subtree rooted at this tree, computed once parsing has completed and shared by subtrees
+  // having the same kinds. Always null for leaves.
+  private long[] subtreeKinds;
+
+  // Structural hash of the subtree rooted at this tree, 0 until first used
+  private int structuralHash;
+
+  // First and last tokens are computed on first access, once parsing has completed the tree: later accesses are constant-time
+  private SyntaxToken firstToken;
+  private SyntaxToken lastToken;
+  private boolean lastTokenComputed = false;
+
   public int getLine() {
     return getFirstToken().line();
   }
@@ -43,6 +77,133 @@ public abstract class JavaScriptTree implements Tree {
 
   public abstract Kind getKind();
 
+  @Nullable
+  @Override
+  public Tree parent() {
+    return parent;
+  }
+
+  @Override
+  public List<Tree> ancestors() {
+    List<Tree> ancestors = new ArrayList<>();
+    for (Tree ancestor = parent; ancestor != null; ancestor = ancestor.parent()) {
+      ancestors.add(ancestor);
+    }
+    return ancestors;
+  }
+
+  @Nullable
+  @Override
+  public Tree enclosing(Kind... kind) {
+    for (Tree ancestor = parent; ancestor != null; ancestor = ancestor.parent()) {
+      if (ancestor.is(kind)) {
+        return ancestor;
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  @Override
+  public Tree enclosingFunction() {
+    return enclosing(FUNCTION_KINDS);
+  }
+
+  void setParent(Tree parent) {
+    this.parent = parent;
+  }
+
+  void setSubtreeKinds(long[] subtreeKinds) {
+    this.subtreeKinds = subtreeKinds;
+  }
+
+  long[] subtreeKinds() {
+    return subtreeKinds;
+  }
+
+  /**
+   * @return false if neither this tree nor its descendants are of the kinds of the given mask (see {@link KindMasks}),
+   * true if they may be
+   */
+  public boolean mayContain(long[] kinds) {
+    if (isLeaf()) {
+      return KindMasks.contains(kinds, getKind());
+    }
+    // kinds of the subtree are unknown for trees which have not been built by the parser
+    return subtreeKinds == null || KindMasks.intersects(subtreeKinds, kinds);
+  }
+
+  /**
+   * @return a hash of the subtree rooted at this tree, computed from the kinds of its trees and the texts of its leaves,
+   * which is the same for trees which are equivalent according to {@link org.sonar.javascript.tree.SyntacticEquivalence}
+   */
+  public int structuralHash() {
+    if (structuralHash == 0) {
+      computeStructuralHashes(this);
+    }
+    return structuralHash;
+  }
+
+  /**
+   * Computes the hashes of the subtrees which do not have one yet, children first, with an explicit stack
+   * so that deeply nested trees cannot overflow the call stack.
+   */
+  private static void computeStructuralHashes(JavaScriptTree root) {
+    Deque<JavaScriptTree> trees = new ArrayDeque<>();
+    Deque<Iterator<Tree>> childrenIterators = new ArrayDeque<>();
+    trees.push(root);
+    childrenIterators.push(root.isLeaf() ? Collections.<Tree>emptyIterator() : root.childrenIterator());
+
+    while (!trees.isEmpty()) {
+      JavaScriptTree child = nextChildWithoutHash(childrenIterators.peek());
+      if (child != null) {
+        trees.push(child);
+        childrenIterators.push(child.isLeaf() ? Collections.<Tree>emptyIterator() : child.childrenIterator());
+      } else {
+        childrenIterators.pop();
+        JavaScriptTree tree = trees.pop();
+        int hash = tree.computeStructuralHash();
+        // 0 marks the hash as not computed yet
+        tree.structuralHash = hash == 0 ? 1 : hash;
+      }
+    }
+  }
+
+  @Nullable
+  private static JavaScriptTree nextChildWithoutHash(Iterator<Tree> childrenIterator) {
+    while (childrenIterator.hasNext()) {
+      JavaScriptTree child = (JavaScriptTree) childrenIterator.next();
+      if (child != null && child.structuralHash == 0) {
+        return child;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Hash of this tree, from the hashes of its children which have already been computed.
+   */
+  private int computeStructuralHash() {
+    int hash = getKind() == null ? 0 : (getKind().ordinal() + 1);
+    if (isLeaf()) {
+      return 31 * hash + leafHash();
+    }
+    for (Iterator<Tree> childrenIterator = childrenIterator(); childrenIterator.hasNext(); ) {
+      JavaScriptTree child = (JavaScriptTree) childrenIterator.next();
+      hash = 31 * hash + (child == null ? 0 : child.structuralHash());
+    }
+    return hash;
+  }
+
+  private int leafHash() {
+    if (this instanceof IdentifierTree) {
+      return Objects.hashCode(((IdentifierTree) this).name());
+    } else if (this instanceof SyntaxToken) {
+      return Objects.hashCode(((SyntaxToken) this).text());
+    }
+    return 0;
+  }
+
   /**
    * Creates iterator for children of this node.
    * Note that iterator may contain {@code null} elements.
@@ -55,22 +216,43 @@ public abstract class JavaScriptTree implements Tree {
     return false;
   }
 
+  /**
+   * @return the last token of this tree, null if it has none
+   */
   public SyntaxToken getLastToken() {
-    SyntaxToken lastToken = null;
-    Iterator<Tree> childrenIterator = childrenIterator();
-    while (childrenIterator.hasNext()) {
-      JavaScriptTree child = (JavaScriptTree) childrenIterator.next();
+    if (!lastTokenComputed) {
+      lastToken = computeLastToken();
+      lastTokenComputed = true;
+    }
+    return lastToken;
+  }
+
+  private SyntaxToken computeLastToken() {
+    List<Tree> children = new ArrayList<>();
+    for (Iterator<Tree> childrenIterator = childrenIterator(); childrenIterator.hasNext(); ) {
+      children.add(childrenIterator.next());
+    }
+    // only the last children having tokens are looked into
+    for (int i = children.size() - 1; i >= 0; i--) {
+      JavaScriptTree child = (JavaScriptTree) children.get(i);
       if (child != null) {
         SyntaxToken childLastToken = child.getLastToken();
         if (childLastToken != null) {
-          lastToken = childLastToken;
+          return childLastToken;
         }
       }
     }
-    return lastToken;
+    return null;
   }
 
   public SyntaxToken getFirstToken() {
+    if (firstToken == null) {
+      firstToken = computeFirstToken();
+    }
+    return firstToken;
+  }
+
+  private SyntaxToken computeFirstToken() {
     Iterator<Tree> childrenIterator = childrenIterator();
     Tree child;
     do {
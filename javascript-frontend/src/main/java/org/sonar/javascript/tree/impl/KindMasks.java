@@ -0,0 +1,73 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.tree.impl;
+
+import java.util.Collection;
+import javax.annotation.Nullable;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+
+/**
+ * Sets of {@link Kind} represented as bitmasks over {@link Kind#ordinal()}, cheap to test for membership and intersection.
+ */
+public final class KindMasks {
+
+  private static final int WORDS = (Kind.values().length + 63) / 64;
+
+  private KindMasks() {
+  }
+
+  public static long[] empty() {
+    return new long[WORDS];
+  }
+
+  public static long[] of(Collection<Kind> kinds) {
+    long[] mask = empty();
+    for (Kind kind : kinds) {
+      add(mask, kind);
+    }
+    return mask;
+  }
+
+  public static void add(long[] mask, @Nullable Kind kind) {
+    if (kind != null) {
+      mask[kind.ordinal() >>> 6] |= 1L << kind.ordinal();
+    }
+  }
+
+  public static void addAll(long[] mask, long[] other) {
+    for (int i = 0; i < WORDS; i++) {
+      mask[i] |= other[i];
+    }
+  }
+
+  public static boolean contains(long[] mask, @Nullable Kind kind) {
+    return kind != null && (mask[kind.ordinal() >>> 6] & (1L << kind.ordinal())) != 0;
+  }
+
+  public static boolean intersects(long[] mask, long[] other) {
+    for (int i = 0; i < WORDS; i++) {
+      if ((mask[i] & other[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
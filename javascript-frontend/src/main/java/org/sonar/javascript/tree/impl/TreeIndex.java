@@ -0,0 +1,150 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.tree.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+
+/**
+ * Index of the trees of a file by kind, built in the single pass which links the trees to their parent once parsing has completed.
+ */
+public class TreeIndex {
+
+  private final Map<Kind, List<Tree>> treesByKind = new EnumMap<>(Kind.class);
+
+  private TreeIndex() {
+  }
+
+  /**
+   * Links all the trees below the given one to their parent, indexes them by kind and records the kinds contained
+   * in each subtree. Called once the parser has built the whole tree, as some trees are completed after their construction.
+   */
+  public static TreeIndex build(Tree root) {
+    TreeIndex index = new TreeIndex();
+    Deque<JavaScriptTree> trees = new ArrayDeque<>();
+    List<JavaScriptTree> children = new ArrayList<>();
+    List<JavaScriptTree> documentOrder = new ArrayList<>();
+    trees.push((JavaScriptTree) root);
+    while (!trees.isEmpty()) {
+      JavaScriptTree tree = trees.pop();
+      index.add(tree);
+      documentOrder.add(tree);
+      if (!tree.isLeaf()) {
+        for (Iterator<Tree> childrenIterator = tree.childrenIterator(); childrenIterator.hasNext(); ) {
+          JavaScriptTree child = (JavaScriptTree) childrenIterator.next();
+          if (child != null) {
+            child.setParent(tree);
+            children.add(child);
+          }
+        }
+        // children are pushed in reverse order so that trees are indexed in document order
+        for (int i = children.size() - 1; i >= 0; i--) {
+          trees.push(children.get(i));
+        }
+        children.clear();
+      }
+    }
+
+    // descendants come after their ancestors in document order: walking it backwards completes subtrees before their parent
+    Map<KindMask, long[]> sharedMasks = new HashMap<>();
+    for (int i = documentOrder.size() - 1; i >= 0; i--) {
+      JavaScriptTree tree = documentOrder.get(i);
+      if (!tree.isLeaf()) {
+        tree.setSubtreeKinds(subtreeKinds(tree, sharedMasks));
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return the kinds of the subtree rooted at the given tree, whose children are complete. Subtrees having the same kinds,
+   * e.g. a tree and its single child, share the same mask rather than holding one each.
+   */
+  private static long[] subtreeKinds(JavaScriptTree tree, Map<KindMask, long[]> sharedMasks) {
+    long[] kinds = KindMasks.empty();
+    KindMasks.add(kinds, tree.getKind());
+    for (Iterator<Tree> childrenIterator = tree.childrenIterator(); childrenIterator.hasNext(); ) {
+      JavaScriptTree child = (JavaScriptTree) childrenIterator.next();
+      if (child != null && child.isLeaf()) {
+        KindMasks.add(kinds, child.getKind());
+      } else if (child != null) {
+        KindMasks.addAll(kinds, child.subtreeKinds());
+      }
+    }
+    KindMask key = new KindMask(kinds);
+    long[] sharedKinds = sharedMasks.get(key);
+    if (sharedKinds == null) {
+      sharedMasks.put(key, kinds);
+      return kinds;
+    }
+    return sharedKinds;
+  }
+
+  private void add(JavaScriptTree tree) {
+    Kind kind = tree.getKind();
+    if (kind != null) {
+      List<Tree> trees = treesByKind.get(kind);
+      if (trees == null) {
+        trees = new ArrayList<>();
+        treesByKind.put(kind, trees);
+      }
+      trees.add(tree);
+    }
+  }
+
+  /**
+   * @return the trees of the given kind, in document order
+   */
+  public List<Tree> trees(Kind kind) {
+    List<Tree> trees = treesByKind.get(kind);
+    return trees == null ? Collections.<Tree>emptyList() : Collections.unmodifiableList(trees);
+  }
+
+  private static class KindMask {
+
+    private final long[] kinds;
+
+    KindMask(long[] kinds) {
+      this.kinds = kinds;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof KindMask && Arrays.equals(kinds, ((KindMask) other).kinds);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(kinds);
+    }
+
+  }
+
+}
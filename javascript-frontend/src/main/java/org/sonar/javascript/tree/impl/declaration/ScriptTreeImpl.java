@@ -23,6 +23,7 @@ import com.google.common.collect.Iterators;
 import java.util.Iterator;
 import javax.annotation.Nullable;
 import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.javascript.tree.impl.TreeIndex;
 import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
@@ -34,6 +35,7 @@ public class ScriptTreeImpl extends JavaScriptTree implements ScriptTree {
   private final InternalSyntaxToken shebangToken;
   private final ModuleTreeImpl items;
   private final InternalSyntaxToken eof;
+  private TreeIndex index;
 
   public ScriptTreeImpl(@Nullable InternalSyntaxToken shebangToken, @Nullable ModuleTreeImpl items, InternalSyntaxToken eof) {
     this.shebangToken = shebangToken;
@@ -42,6 +44,20 @@ public class ScriptTreeImpl extends JavaScriptTree implements ScriptTree {
 
   }
 
+  /**
+   * @return the index of the trees of this file by kind, built by the parser or on first access
+   */
+  public TreeIndex index() {
+    if (index == null) {
+      index = TreeIndex.build(this);
+    }
+    return index;
+  }
+
+  public void setIndex(@Nullable TreeIndex index) {
+    this.index = index;
+  }
+
   @Override
   @Nullable
   public SyntaxToken shebangToken() {
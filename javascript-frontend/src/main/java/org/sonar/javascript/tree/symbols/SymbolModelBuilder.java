@@ -20,7 +20,9 @@
 package org.sonar.javascript.tree.symbols;
 
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.sonar.plugins.javascript.api.symbols.Symbol;
+import org.sonar.plugins.javascript.api.tree.Tree;
 
 public interface SymbolModelBuilder {
 
@@ -30,6 +32,12 @@ public interface SymbolModelBuilder {
 
   Set<Scope> getScopes();
 
+  /**
+   * @return the scope created for the given tree, found in constant time
+   */
+  @Nullable
+  Scope getScope(Tree tree);
+
   Symbol declareSymbol(String name, Symbol.Kind kind, Scope scope);
 
   // todo remove declaration argument in future. We can infer declaration tree from scope
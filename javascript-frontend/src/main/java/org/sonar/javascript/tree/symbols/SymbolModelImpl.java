@@ -21,12 +21,19 @@ package org.sonar.javascript.tree.symbols;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sonar.api.config.Settings;
 import org.sonar.api.source.Symbolizable;
+import org.sonar.javascript.highlighter.HighlightSymbolTableBuilder;
 import org.sonar.javascript.tree.symbols.type.TypeVisitor;
 import org.sonar.plugins.javascript.api.symbols.Symbol;
 import org.sonar.plugins.javascript.api.symbols.SymbolModel;
@@ -35,19 +42,66 @@ import org.sonar.plugins.javascript.api.tree.Tree;
 
 public class SymbolModelImpl implements SymbolModel, SymbolModelBuilder {
 
+  private static final Logger LOG = LoggerFactory.getLogger(SymbolModelImpl.class);
+
   private Map<Symbol, Scope> symbolScope = Maps.newHashMap();
   private Set<Scope> scopes = Sets.newHashSet();
+  private Map<Tree, Scope> scopeByTree = new IdentityHashMap<>();
+  private Map<Symbol.Kind, Set<Symbol>> symbolsByKind = new EnumMap<>(Symbol.Kind.class);
+  private Map<String, Set<Symbol>> symbolsByName = new HashMap<>();
   private Scope globalScope;
 
   public static SymbolModelImpl create(ScriptTree script, @Nullable Symbolizable symbolizable, @Nullable Settings settings) {
+    SymbolModelImpl symbolModel = create(script, settings);
+    symbolModel.highlightSymbols(symbolizable);
+    return symbolModel;
+  }
+
+  /**
+   * Builds the symbol model without saving symbol highlighting, which can be done later with {@link #highlightSymbols(Symbolizable)}.
+   */
+  public static SymbolModelImpl create(ScriptTree script, @Nullable Settings settings) {
+    return create(script, settings, true);
+  }
+
+  /**
+   * Builds the symbol model, inferring types only if {@code inferTypes} is true.
+   */
+  public static SymbolModelImpl create(ScriptTree script, @Nullable Settings settings, boolean inferTypes) {
     SymbolModelImpl symbolModel = new SymbolModelImpl();
-    new SymbolVisitor(symbolModel, symbolizable).visitScript(script);
-    new TypeVisitor(settings).visitScript(script);
+    new SymbolVisitor(symbolModel).visitScript(script);
+    if (inferTypes) {
+      new TypeVisitor(settings).visitScript(script);
+    }
     return symbolModel;
   }
 
+  public void highlightSymbols(@Nullable Symbolizable symbolizable) {
+    if (symbolizable != null) {
+      symbolizable.setSymbolTable(HighlightSymbolTableBuilder.build(symbolizable, this));
+    } else {
+      LOG.warn("Symbol in source view will not be highlighted.");
+    }
+  }
+
   private void setScopeForSymbol(Symbol symbol, Scope scope) {
     symbolScope.put(symbol, scope);
+    index(symbolsByKind, symbol.kind(), symbol);
+    index(symbolsByName, symbol.name(), symbol);
+  }
+
+  private static <K> void index(Map<K, Set<Symbol>> index, K key, Symbol symbol) {
+    Set<Symbol> symbols = index.get(key);
+    if (symbols == null) {
+      symbols = new LinkedHashSet<>();
+      index.put(key, symbols);
+    }
+    symbols.add(symbol);
+  }
+
+  private static <K> Set<Symbol> indexed(Map<K, Set<Symbol>> index, K key) {
+    Set<Symbol> symbols = index.get(key);
+    return symbols == null ? Collections.<Symbol>emptySet() : Collections.unmodifiableSet(symbols);
   }
 
   @Override
@@ -61,6 +115,7 @@ public class SymbolModelImpl implements SymbolModel, SymbolModelBuilder {
       globalScope = scope;
     }
     scopes.add(scope);
+    scopeByTree.put(scope.tree(), scope);
   }
 
   @Override
@@ -101,43 +156,26 @@ public class SymbolModelImpl implements SymbolModel, SymbolModelBuilder {
 
   /**
    * @param kind kind of symbols to look for
-   * @return list of symbols with the given kind
+   * @return read-only view of the symbols with the given kind
    */
   @Override
   public Set<Symbol> getSymbols(Symbol.Kind kind) {
-    Set<Symbol> result = new HashSet<>();
-    for (Symbol symbol : getSymbols()) {
-      if (kind.equals(symbol.kind())) {
-        result.add(symbol);
-      }
-    }
-    return result;
+    return indexed(symbolsByKind, kind);
   }
 
   /**
    * @param name name of symbols to look for
-   * @return list of symbols with the given name
+   * @return read-only view of the symbols with the given name
    */
   @Override
   public Set<Symbol> getSymbols(String name) {
-    Set<Symbol> result = new HashSet<>();
-    for (Symbol symbol : getSymbols()) {
-      if (name.equals(symbol.name())) {
-        result.add(symbol);
-      }
-    }
-    return result;
+    return indexed(symbolsByName, name);
   }
 
   @Nullable
   @Override
   public Scope getScope(Tree tree) {
-    for (Scope scope : getScopes()) {
-      if (scope.tree().equals(tree)) {
-        return scope;
-      }
-    }
-    return null;
+    return scopeByTree.get(tree);
   }
 
 }
@@ -19,14 +19,8 @@
  */
 package org.sonar.javascript.tree.symbols;
 
-import javax.annotation.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.sonar.api.source.Symbolizable;
-import org.sonar.javascript.highlighter.HighlightSymbolTableBuilder;
 import org.sonar.javascript.lexer.JavaScriptPunctuator;
 import org.sonar.plugins.javascript.api.symbols.Symbol;
-import org.sonar.plugins.javascript.api.symbols.SymbolModel;
 import org.sonar.plugins.javascript.api.symbols.Usage;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
@@ -46,19 +40,12 @@ import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitor;
 
 public class SymbolVisitor extends DoubleDispatchVisitor {
 
-  private static final Logger LOG = LoggerFactory.getLogger(SymbolVisitor.class);
-
-  private final Symbolizable symbolizable;
-
   private SymbolModelBuilder symbolModel;
   private Scope currentScope;
 
-  public SymbolVisitor(SymbolModelBuilder symbolModel, @Nullable Symbolizable symbolizable) {
+  public SymbolVisitor(SymbolModelBuilder symbolModel) {
     this.symbolModel = symbolModel;
     this.currentScope = null;
-
-    // Symbol highlighting
-    this.symbolizable = symbolizable;
   }
 
   @Override
@@ -70,8 +57,6 @@ public class SymbolVisitor extends DoubleDispatchVisitor {
     // Record usage and implicit symbol declarations
     super.visitScript(tree);
     leaveScope();
-
-    highlightSymbols();
   }
 
   @Override
@@ -229,20 +214,11 @@ public class SymbolVisitor extends DoubleDispatchVisitor {
     return false;
   }
 
-  private void highlightSymbols() {
-    if (symbolizable != null) {
-      symbolizable.setSymbolTable(HighlightSymbolTableBuilder.build(symbolizable, (SymbolModel) symbolModel));
-    } else {
-      LOG.warn("Symbol in source view will not be highlighted.");
-    }
-  }
-
   private Scope getScopeFor(Tree tree) {
-    for (Scope scope : symbolModel.getScopes()) {
-      if (scope.tree().equals(tree)) {
-        return scope;
-      }
+    Scope scope = symbolModel.getScope(tree);
+    if (scope == null) {
+      throw new IllegalStateException("No scope found for the tree");
     }
-    throw new IllegalStateException("No scope found for the tree");
+    return scope;
   }
 }
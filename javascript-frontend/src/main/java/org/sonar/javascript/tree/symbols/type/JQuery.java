@@ -19,9 +19,10 @@
  */
 package org.sonar.javascript.tree.symbols.type;
 
-import com.google.common.collect.ImmutableList;
-import java.util.Arrays;
-import java.util.List;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import org.sonar.plugins.javascript.api.symbols.Type;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.expression.CallExpressionTree;
 import org.sonar.plugins.javascript.api.tree.expression.DotMemberExpressionTree;
@@ -33,14 +34,21 @@ public class JQuery {
   public static final String JQUERY_OBJECT_ALIASES = "sonar.javascript.jQueryObjectAliases";
   public static final String JQUERY_OBJECT_ALIASES_DEFAULT_VALUE = "$, jQuery";
 
-  private static final List<String> SELECTOR_METHODS = ImmutableList.of(
+  private static final Set<String> SELECTOR_METHODS = ImmutableSet.of(
     // TODO (Lena): Here should be 110 jquery API methods, returning jQuery object
   );
 
-  private List<String> jQueryAliases = null;
+  private final Set<String> jQueryAliases;
+  private final Set<String> selectorMethods;
 
   public JQuery(String[] jQueryAliases) {
-    this.jQueryAliases = Arrays.asList(jQueryAliases);
+    this(jQueryAliases, SELECTOR_METHODS);
+  }
+
+  @VisibleForTesting
+  JQuery(String[] jQueryAliases, Set<String> selectorMethods) {
+    this.jQueryAliases = ImmutableSet.copyOf(jQueryAliases);
+    this.selectorMethods = selectorMethods;
   }
 
   public boolean isJQueryObject(IdentifierTree identifierTree) {
@@ -66,15 +74,19 @@ public class JQuery {
     if (expressionTree.is(Tree.Kind.CALL_EXPRESSION) && ((CallExpressionTree) expressionTree).callee().is(Tree.Kind.DOT_MEMBER_EXPRESSION)) {
 
       DotMemberExpressionTree callee = (DotMemberExpressionTree) ((CallExpressionTree) expressionTree).callee();
-      return isSelectorObject(callee.object()) && isJQuerySelectorMethod(callee.property());
+      // the object of the call has already been typed by the type visitor: its type is reused rather than walking down the whole chain again
+      ExpressionTree object = callee.object();
+      return isJQuerySelectorMethod(callee.property())
+        && object.is(Tree.Kind.CALL_EXPRESSION)
+        && object.types().contains(Type.Kind.JQUERY_SELECTOR_OBJECT);
 
     }
 
     return false;
   }
 
-  private static boolean isJQuerySelectorMethod(IdentifierTree property) {
-    return SELECTOR_METHODS.contains(property.name());
+  private boolean isJQuerySelectorMethod(IdentifierTree property) {
+    return selectorMethods.contains(property.name());
   }
 
 }
@@ -0,0 +1,59 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.api;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nullable;
+
+/**
+ * Parts of the model of a file which can be computed for checks, each level including the previous ones.
+ * See {@link RequiresModel}.
+ */
+@Beta
+public enum ModelLevel {
+
+  /**
+   * Syntax tree, with its tokens and comments
+   */
+  TREE,
+
+  /**
+   * Symbols and scopes, available through {@link org.sonar.plugins.javascript.api.visitors.TreeVisitorContext#getSymbolModel()}
+   */
+  SYMBOLS,
+
+  /**
+   * Types inferred for expressions and symbols
+   */
+  TYPES;
+
+  /**
+   * @return the level declared by the check with {@link RequiresModel}, {@link #TYPES} if it declares none
+   */
+  public static ModelLevel of(Object check) {
+    RequiresModel requiresModel = check.getClass().getAnnotation(RequiresModel.class);
+    return requiresModel == null ? TYPES : requiresModel.value();
+  }
+
+  public ModelLevel max(@Nullable ModelLevel other) {
+    return other == null || compareTo(other) >= 0 ? this : other;
+  }
+
+}
@@ -34,13 +34,13 @@ public interface SymbolModel {
 
   /**
    * @param kind kind of symbols to look for
-   * @return list of symbols with the given kind
+   * @return read-only set of the symbols with the given kind
    */
   Set<Symbol> getSymbols(Symbol.Kind kind);
 
   /**
    * @param name name of symbols to look for
-   * @return list of symbols with the given name
+   * @return read-only set of the symbols with the given name
    */
   Set<Symbol> getSymbols(String name);
 
@@ -21,6 +21,8 @@ package org.sonar.plugins.javascript.api.tree;
 
 import com.google.common.annotations.Beta;
 import com.sonar.sslr.api.AstNodeType;
+import java.util.List;
+import javax.annotation.Nullable;
 import org.sonar.javascript.tree.impl.declaration.SpecifierListTreeImpl;
 import org.sonar.plugins.javascript.api.tree.declaration.AccessorMethodDeclarationTree;
 import org.sonar.plugins.javascript.api.tree.declaration.ArrayBindingPatternTree;
@@ -103,6 +105,29 @@ public interface Tree {
 
   void accept(DoubleDispatchVisitor visitor);
 
+  /**
+   * @return the tree having this one as child, null for the root of a parsed tree
+   */
+  @Nullable
+  Tree parent();
+
+  /**
+   * @return the parent of this tree, the parent of the parent and so on up to the root, nearest first
+   */
+  List<Tree> ancestors();
+
+  /**
+   * @return the nearest ancestor of one of the given kinds, null if there is none
+   */
+  @Nullable
+  Tree enclosing(Kind... kind);
+
+  /**
+   * @return the nearest enclosing function, method, accessor, generator or arrow function, null for code at the top level
+   */
+  @Nullable
+  Tree enclosingFunction();
+
   public enum Kind implements AstNodeType, GrammarRuleKey {
 
     /**
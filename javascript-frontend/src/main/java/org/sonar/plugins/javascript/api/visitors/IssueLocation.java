@@ -26,8 +26,10 @@ import org.sonar.plugins.javascript.api.tree.lexical.SyntaxToken;
 
 public class IssueLocation {
 
-  private final SyntaxToken firstToken;
-  private final SyntaxToken lastToken;
+  private final int startLine;
+  private final int startLineOffset;
+  private final int endLine;
+  private final int endLineOffset;
   private final String message;
 
   public IssueLocation(Tree tree, @Nullable String message) {
@@ -35,8 +37,23 @@ public class IssueLocation {
   }
 
   public IssueLocation(Tree firstTree, Tree lastTree, @Nullable String message) {
-    this.firstToken = ((JavaScriptTree) firstTree).getFirstToken();
-    this.lastToken = ((JavaScriptTree) lastTree).getLastToken();
+    SyntaxToken firstToken = ((JavaScriptTree) firstTree).getFirstToken();
+    SyntaxToken lastToken = ((JavaScriptTree) lastTree).getLastToken();
+    this.startLine = firstToken.line();
+    this.startLineOffset = firstToken.column();
+    this.endLine = lastToken.line();
+    this.endLineOffset = lastToken.column() + lastToken.text().length();
+    this.message = message;
+  }
+
+  /**
+   * Location given by its positions, e.g. for an issue saved again without parsing the file.
+   */
+  public IssueLocation(int startLine, int startLineOffset, int endLine, int endLineOffset, @Nullable String message) {
+    this.startLine = startLine;
+    this.startLineOffset = startLineOffset;
+    this.endLine = endLine;
+    this.endLineOffset = endLineOffset;
     this.message = message;
   }
 
@@ -50,19 +67,19 @@ public class IssueLocation {
   }
 
   public int startLine() {
-    return firstToken.line();
+    return startLine;
   }
 
   public int startLineOffset() {
-    return firstToken.column();
+    return startLineOffset;
   }
 
   public int endLine() {
-    return lastToken.line();
+    return endLine;
   }
 
   public int endLineOffset() {
-    return lastToken.column() + lastToken.text().length();
+    return endLineOffset;
   }
 
 }
@@ -21,16 +21,42 @@ package org.sonar.plugins.javascript.api.visitors;
 
 import com.google.common.base.Preconditions;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.javascript.tree.impl.KindMasks;
 import org.sonar.plugins.javascript.api.tree.Tree;
 
+/**
+ * Visitor notified of the trees of the kinds returned by {@link #nodesToVisit()}.
+ * <p>
+ * Subscriptions are read again each time a file is scanned with {@link #scanTree(TreeVisitorContext)}, so they may depend
+ * on settings or on the state of the visitor. {@link #scanTree(Tree)} uses the subscriptions read for the current file,
+ * or reads them if no file has been scanned yet. {@link SubscriptionVisitorDispatcher} reads them once, when it is created.
+ */
 public abstract class SubscriptionVisitor implements TreeVisitor {
 
   private TreeVisitorContext context;
-  private Collection<Tree.Kind> nodesToVisit;
+  private long[] subscribedKinds;
+
+  private final TreeWalker walker = new TreeWalker() {
+    @Override
+    boolean enter(Tree tree) {
+      boolean isSubscribed = isSubscribed(tree);
+      if (isSubscribed) {
+        visitNode(tree);
+      }
+      return isSubscribed;
+    }
+
+    @Override
+    void leave(Tree tree) {
+      leaveNode(tree);
+    }
+  };
 
+  /**
+   * @return the kinds of the trees to visit, read once per scanned file
+   */
   public abstract List<Tree.Kind> nodesToVisit();
 
   public void visitNode(Tree tree) {
@@ -57,44 +83,40 @@ public abstract class SubscriptionVisitor implements TreeVisitor {
 
   @Override
   public final void scanTree(TreeVisitorContext context) {
-    this.context = context;
+    subscribedKinds = KindMasks.of(nodesToVisit());
+    startFile(context);
     visitFile(context.getTopTree());
     scanTree(context.getTopTree());
     leaveFile(context.getTopTree());
   }
 
-  public void scanTree(Tree tree) {
-    nodesToVisit = nodesToVisit();
-    visit(tree);
+  /**
+   * Called before {@link #visitFile(Tree)}, also when the file is visited through {@link SubscriptionVisitorDispatcher}.
+   */
+  void startFile(TreeVisitorContext context) {
+    this.context = context;
   }
 
-  private void visit(Tree tree) {
-    boolean isSubscribed = isSubscribed(tree);
-    if (isSubscribed) {
-      visitNode(tree);
-    }
-    visitChildren(tree);
-    if (isSubscribed) {
-      leaveNode(tree);
-    }
+  /**
+   * Called by {@link SubscriptionVisitorDispatcher} with the kinds it read from {@link #nodesToVisit()}, so that {@link #isSubscribed(Tree)} knows them.
+   */
+  void subscribe(Collection<Tree.Kind> kinds) {
+    subscribedKinds = KindMasks.of(kinds);
   }
 
-  protected boolean isSubscribed(Tree tree) {
-    return nodesToVisit.contains(((JavaScriptTree) tree).getKind());
+  public void scanTree(Tree tree) {
+    if (subscribedKinds == null) {
+      subscribedKinds = KindMasks.of(nodesToVisit());
+    }
+    walker.walk(tree, subscribedKinds);
   }
 
-  private void visitChildren(Tree tree) {
-    JavaScriptTree javaTree = (JavaScriptTree) tree;
-
-    if (!javaTree.isLeaf()) {
-      for (Iterator<Tree> iter = javaTree.childrenIterator(); iter.hasNext(); ) {
-        Tree next = iter.next();
-
-        if (next != null) {
-          visit(next);
-        }
-      }
-    }
+  /**
+   * Subtrees which contain no tree of the kinds returned by {@link #nodesToVisit()} are not visited:
+   * overriding this method can only narrow the subscriptions. It is also honoured by {@link SubscriptionVisitorDispatcher}.
+   */
+  protected boolean isSubscribed(Tree tree) {
+    return KindMasks.contains(subscribedKinds, ((JavaScriptTree) tree).getKind());
   }
 
 }
@@ -32,11 +32,20 @@ public abstract class SubscriptionVisitorCheck extends SubscriptionVisitor imple
 
   @Override
   public List<Issue> scanFile(TreeVisitorContext context){
-    issues = new ArrayList<>();
     scanTree(context);
     return issues;
   }
 
+  @Override
+  void startFile(TreeVisitorContext context) {
+    super.startFile(context);
+    issues = new ArrayList<>();
+  }
+
+  List<Issue> fileIssues() {
+    return issues;
+  }
+
   @Override
   public void addLineIssue(Tree tree, String message) {
     addIssue(new LineIssue(this, tree, message));
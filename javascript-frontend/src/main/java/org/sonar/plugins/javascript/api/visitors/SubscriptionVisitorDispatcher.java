@@ -0,0 +1,150 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.api.visitors;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.javascript.tree.impl.KindMasks;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+
+/**
+ * Runs several {@link SubscriptionVisitor} on a file with a single traversal of the tree.
+ * For each node, subscribers of its kind are notified in registration order, as they would be
+ * by {@link SubscriptionVisitor#scanTree(TreeVisitorContext)}, provided {@link SubscriptionVisitor#isSubscribed(Tree)} accepts it.
+ * Checks overriding {@link SubscriptionVisitorCheck#scanFile(TreeVisitorContext)} are not part of the shared traversal:
+ * their own method scans the file.
+ * <p>
+ * Subscriptions are read once from {@link SubscriptionVisitor#nodesToVisit()} when the dispatcher is created.
+ */
+@Beta
+public class SubscriptionVisitorDispatcher {
+
+  private final List<SubscriptionVisitor> subscribers;
+  private final Set<SubscriptionVisitor> selfScanningChecks = Collections.newSetFromMap(new IdentityHashMap<SubscriptionVisitor, Boolean>());
+  private final Map<Kind, SubscriptionVisitor[]> subscribersByKind = new EnumMap<>(Kind.class);
+  private final long[] subscribedKinds;
+
+  private final TreeWalker walker = new TreeWalker() {
+    @Override
+    boolean enter(Tree tree) {
+      SubscriptionVisitor[] kindSubscribers = subscribersByKind.get(((JavaScriptTree) tree).getKind());
+      if (kindSubscribers == null) {
+        return false;
+      }
+      for (SubscriptionVisitor subscriber : kindSubscribers) {
+        if (subscriber.isSubscribed(tree)) {
+          subscriber.visitNode(tree);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    void leave(Tree tree) {
+      for (SubscriptionVisitor subscriber : subscribersByKind.get(((JavaScriptTree) tree).getKind())) {
+        if (subscriber.isSubscribed(tree)) {
+          subscriber.leaveNode(tree);
+        }
+      }
+    }
+  };
+
+  public SubscriptionVisitorDispatcher(List<? extends SubscriptionVisitor> subscribers) {
+    this.subscribers = ImmutableList.copyOf(subscribers);
+
+    Map<Kind, List<SubscriptionVisitor>> subscriptions = new EnumMap<>(Kind.class);
+    for (SubscriptionVisitor subscriber : this.subscribers) {
+      if (overridesScanFile(subscriber)) {
+        selfScanningChecks.add(subscriber);
+      } else {
+        subscribe(subscriber, subscriptions);
+      }
+    }
+
+    for (Map.Entry<Kind, List<SubscriptionVisitor>> entry : subscriptions.entrySet()) {
+      subscribersByKind.put(entry.getKey(), entry.getValue().toArray(new SubscriptionVisitor[entry.getValue().size()]));
+    }
+    subscribedKinds = KindMasks.of(subscribersByKind.keySet());
+  }
+
+  private static void subscribe(SubscriptionVisitor subscriber, Map<Kind, List<SubscriptionVisitor>> subscriptions) {
+    Set<Kind> kinds = new LinkedHashSet<>(subscriber.nodesToVisit());
+    subscriber.subscribe(kinds);
+    for (Kind kind : kinds) {
+      List<SubscriptionVisitor> kindSubscribers = subscriptions.get(kind);
+      if (kindSubscribers == null) {
+        kindSubscribers = new ArrayList<>();
+        subscriptions.put(kind, kindSubscribers);
+      }
+      kindSubscribers.add(subscriber);
+    }
+  }
+
+  /**
+   * @return issues raised by the subscribers which are {@link SubscriptionVisitorCheck}, in registration order
+   */
+  public List<Issue> scanFile(TreeVisitorContext context) {
+    Tree topTree = context.getTopTree();
+
+    for (SubscriptionVisitor subscriber : subscribers) {
+      if (!selfScanningChecks.contains(subscriber)) {
+        subscriber.startFile(context);
+        subscriber.visitFile(topTree);
+      }
+    }
+
+    walker.walk(topTree, subscribedKinds);
+
+    List<Issue> issues = new ArrayList<>();
+    for (SubscriptionVisitor subscriber : subscribers) {
+      if (selfScanningChecks.contains(subscriber)) {
+        issues.addAll(((SubscriptionVisitorCheck) subscriber).scanFile(context));
+      } else {
+        subscriber.leaveFile(topTree);
+        if (subscriber instanceof SubscriptionVisitorCheck) {
+          issues.addAll(((SubscriptionVisitorCheck) subscriber).fileIssues());
+        }
+      }
+    }
+    return issues;
+  }
+
+  private static boolean overridesScanFile(SubscriptionVisitor subscriber) {
+    if (!(subscriber instanceof SubscriptionVisitorCheck)) {
+      return false;
+    }
+    try {
+      return subscriber.getClass().getMethod("scanFile", TreeVisitorContext.class).getDeclaringClass() != SubscriptionVisitorCheck.class;
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("Unable to find scanFile method of " + subscriber.getClass().getName(), e);
+    }
+  }
+
+}
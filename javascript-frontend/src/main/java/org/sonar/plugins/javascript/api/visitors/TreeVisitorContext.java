@@ -21,8 +21,10 @@ package org.sonar.plugins.javascript.api.visitors;
 
 import com.google.common.annotations.Beta;
 import java.io.File;
+import java.util.List;
 import org.sonar.plugins.javascript.api.symbols.SymbolModel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
 
 @Beta
 public interface TreeVisitorContext {
@@ -37,9 +39,24 @@ public interface TreeVisitorContext {
    */
   File getFile();
 
+  /**
+   * @return the content of the current file, read and decoded once for all visitors
+   */
+  String getFileContent();
+
+  /**
+   * @return the lines of the current file, without line terminators
+   */
+  List<String> getFileLines();
+
   /**
    * @return the symbol model that allows to access the symbols declared in the current file
    */
   SymbolModel getSymbolModel();
 
+  /**
+   * @return the trees of the given kind in the current file, in document order, without traversing the tree
+   */
+  List<Tree> getTrees(Tree.Kind kind);
+
 }
@@ -0,0 +1,95 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.api.visitors;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+
+/**
+ * Depth-first traversal of trees keeping its own stack of ancestors instead of recursing,
+ * so that deeply nested trees (e.g. generated or minified code) cannot overflow the call stack.
+ * Subtrees which contain none of the given kinds are skipped.
+ */
+abstract class TreeWalker {
+
+  /**
+   * Called before the descendants of the tree are walked.
+   *
+   * @return true if {@link #leave(Tree)} should be called for this tree once its descendants have been walked
+   */
+  abstract boolean enter(Tree tree);
+
+  abstract void leave(Tree tree);
+
+  final void walk(Tree root, long[] kinds) {
+    Deque<Frame> frames = new ArrayDeque<>();
+    walk((JavaScriptTree) root, kinds, frames);
+
+    while (!frames.isEmpty()) {
+      Frame frame = frames.peek();
+      if (frame.children.hasNext()) {
+        JavaScriptTree child = (JavaScriptTree) frame.children.next();
+        if (child != null) {
+          walk(child, kinds, frames);
+        }
+      } else {
+        frames.pop();
+        if (frame.leave) {
+          leave(frame.tree);
+        }
+      }
+    }
+  }
+
+  /**
+   * Enters the given tree, and leaves it right away if it is a leaf. Otherwise, pushes it so that its children are walked next.
+   */
+  private void walk(JavaScriptTree tree, long[] kinds, Deque<Frame> frames) {
+    if (!tree.mayContain(kinds)) {
+      return;
+    }
+    boolean leave = enter(tree);
+    if (tree.isLeaf()) {
+      if (leave) {
+        leave(tree);
+      }
+    } else {
+      frames.push(new Frame(tree, leave));
+    }
+  }
+
+  private static class Frame {
+
+    private final JavaScriptTree tree;
+    private final Iterator<Tree> children;
+    private final boolean leave;
+
+    Frame(JavaScriptTree tree, boolean leave) {
+      this.tree = tree;
+      this.children = tree.childrenIterator();
+      this.leave = leave;
+    }
+
+  }
+
+}
@@ -88,6 +88,7 @@ public class HighlighterVisitorTest extends JavaScriptTreeModelTest {
     Files.write(string, file, CHARSET);
     Tree tree = p.parse(string);
     when(visitorContext.getTopTree()).thenReturn((ScriptTree) tree);
+    when(visitorContext.getFileContent()).thenReturn(string);
     highlighterVisitor.scanTree(visitorContext);
     verify(highlightingBuilder).done();
   }
@@ -19,6 +19,9 @@
  */
 package org.sonar.javascript.lexer;
 
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.Token;
 import org.junit.Test;
 
 import static org.fest.assertions.Assertions.assertThat;
@@ -34,4 +37,59 @@ public class JavaScriptRegexpChannelTest {
     assertThat(JavaScriptRegexpChannel.guessNextIsRegexp("identifier")).isFalse();
   }
 
+  @Test
+  public void regexp_preceders() throws Exception {
+    for (JavaScriptKeyword keyword : JavaScriptKeyword.values()) {
+      assertThat(JavaScriptRegexpChannel.isRegexpPreceder(keyword)).as(keyword.getValue())
+        .isEqualTo(JavaScriptRegexpChannel.guessNextIsRegexp(keyword.getValue()));
+    }
+    for (JavaScriptPunctuator punctuator : JavaScriptPunctuator.values()) {
+      assertThat(JavaScriptRegexpChannel.isRegexpPreceder(punctuator)).as(punctuator.getValue())
+        .isEqualTo(JavaScriptRegexpChannel.guessNextIsRegexp(punctuator.getValue()));
+    }
+    assertThat(JavaScriptRegexpChannel.isRegexpPreceder(null)).isTrue();
+    assertThat(JavaScriptRegexpChannel.isRegexpPreceder(GenericTokenType.IDENTIFIER)).isFalse();
+    assertThat(JavaScriptRegexpChannel.isRegexpPreceder(GenericTokenType.LITERAL)).isFalse();
+    assertThat(JavaScriptRegexpChannel.isRegexpPreceder(JavaScriptTokenType.NUMERIC_LITERAL)).isFalse();
+    assertThat(JavaScriptRegexpChannel.isRegexpPreceder(JavaScriptTokenType.REGULAR_EXPRESSION_LITERAL)).isFalse();
+  }
+
+  @Test
+  public void regular_expression_literals() throws Exception {
+    assertThat(regexp("/a/")).isEqualTo("/a/");
+    assertThat(regexp("/a/gi;")).isEqualTo("/a/gi");
+    assertThat(regexp("/a/g.test")).isEqualTo("/a/g");
+    assertThat(regexp("/\\//")).isEqualTo("/\\//");
+    assertThat(regexp("/[/]/")).isEqualTo("/[/]/");
+    assertThat(regexp("/[\\]]/")).isEqualTo("/[\\]]/");
+    assertThat(regexp("/]/")).isEqualTo("/]/");
+    assertThat(regexp("/a/\u00E9")).isEqualTo("/a/\u00E9");
+    assertThat(regexp("/a/\uD835\uDC9C")).isEqualTo("/a/\uD835\uDC9C");
+  }
+
+  @Test
+  public void not_regular_expression_literals() throws Exception {
+    for (String lineTerminator : new String[] {"\n", "\r", "\u2028", "\u2029"}) {
+      assertThat(regexp("/a" + lineTerminator + "/")).isNull();
+      assertThat(regexp("/[a" + lineTerminator + "]/")).isNull();
+      assertThat(regexp("/a\\" + lineTerminator + "/")).isNull();
+      assertThat(regexp("/[a\\" + lineTerminator + "]/")).isNull();
+    }
+    assertThat(regexp("/[/")).isNull();
+    assertThat(regexp("/a")).isNull();
+    assertThat(regexp("/a\\")).isNull();
+    assertThat(regexp("/[a\\")).isNull();
+    assertThat(regexp("/*a*/")).isNull();
+    assertThat(regexp("//a")).isNull();
+    assertThat(regexp("/")).isNull();
+  }
+
+  /**
+   * @return value of the first token of the source if it is a regular expression literal, null otherwise
+   */
+  private static String regexp(String source) {
+    Token first = JavaScriptLexer.create(Charsets.UTF_8).lex(source).get(0);
+    return first.getType() == JavaScriptTokenType.REGULAR_EXPRESSION_LITERAL ? first.getValue() : null;
+  }
+
 }
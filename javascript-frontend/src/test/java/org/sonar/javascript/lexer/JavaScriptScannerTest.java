@@ -0,0 +1,135 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.lexer;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.Token;
+import com.sonar.sslr.api.Trivia;
+import com.sonar.sslr.impl.Lexer;
+import com.sonar.sslr.impl.channel.BlackHoleChannel;
+import com.sonar.sslr.impl.channel.IdentifierAndKeywordChannel;
+import com.sonar.sslr.impl.channel.PunctuatorChannel;
+import com.sonar.sslr.impl.channel.UnknownCharacterChannel;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.sonar.sslr.impl.channel.RegexpChannelBuilder.commentRegexp;
+import static com.sonar.sslr.impl.channel.RegexpChannelBuilder.regexp;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JavaScriptScannerTest {
+
+  private final Lexer lexer = JavaScriptLexer.create(Charsets.UTF_8);
+
+  /**
+   * The lexer built from the regular expressions of {@link JavaScriptLexer}, which the scanner replaces.
+   */
+  private final Lexer regexpLexer = Lexer.builder()
+    .withCharset(Charsets.UTF_8)
+    .withFailIfNoChannelToConsumeOneCharacter(true)
+    .withChannel(new BlackHoleChannel("[" + JavaScriptLexer.LINE_TERMINATOR + JavaScriptLexer.WHITESPACE + "]++"))
+    .withChannel(commentRegexp(JavaScriptLexer.COMMENT))
+    .withChannel(regexp(GenericTokenType.LITERAL, JavaScriptLexer.LITERAL))
+    .withChannel(new JavaScriptRegexpChannel())
+    .withChannel(regexp(JavaScriptTokenType.NUMERIC_LITERAL, JavaScriptLexer.NUMERIC_LITERAL))
+    .withChannel(new IdentifierAndKeywordChannel(JavaScriptLexer.IDENTIFIER, true, JavaScriptKeyword.values()))
+    .withChannel(new PunctuatorChannel(JavaScriptPunctuator.values()))
+    .withChannel(new UnknownCharacterChannel())
+    .build();
+
+  @Test
+  public void numeric_literals() {
+    assertSameTokens("0 1 42 1. 1.5 .5 1e5 1E+5 1e-5 1e 1e+ 1.e5 .5e5 1_000 1e1_0");
+    assertSameTokens("1f 1d 1.5F 1e5D 1l 1L 07 09 1.toString() 1..toString()");
+    assertSameTokens("0x 0xFF 0Xff 0xFFl 0x1.8p1 0x1.p 0x1p1 0x1P-1f 0x1.F_F 0xz");
+    assertSameTokens("0b 0b101 0B1L 0b2 0o17");
+  }
+
+  @Test
+  public void string_literals() {
+    assertSameTokens("'' \"\" 'a' \"a\" '\\'' \"\\\"\" 'a\\\nb' \"a\nb\" 'a\"b' \"a'b\"");
+    assertSameTokens("'unterminated");
+    assertSameTokens("\"unterminated\\");
+  }
+
+  @Test
+  public void comments() {
+    assertSameTokens("a // comment\nb /* comment */ c /* multi\nline */ d <!-- legacy\ne /**/ f //");
+    assertSameTokens("a /* unterminated");
+    assertSameTokens("a /*/ b");
+    assertSameTokens("a < !-- b <!- c");
+  }
+
+  @Test
+  public void identifiers() {
+    assertSameTokens("a $ _ $_a1 if iff null true function functions");
+    assertSameTokens("\\u0061 a\\u0062 \\u00 a\\u006 \\x61 \\");
+    assertSameTokens("caf\u00E9 e\u0301 \u0660a a\u0660 \u2160 \uD835\uDC9C \uD835 \u00AA a\u203F");
+  }
+
+  @Test
+  public void whitespaces() {
+    assertSameTokens("a\tb\u000Bc\fd e\u00A0f\uFEFFg\u2028h\u2029i\u3000j\r\nk\rl\nm");
+  }
+
+  @Test
+  public void regular_expressions_and_punctuators() {
+    assertSameTokens("a = /re/g; b = a / 2 / c; c = (/[/]/).test(a) ? a++ / 2 : a >>>= 1;");
+    assertSameTokens("a ... b => c !== d && e || f");
+  }
+
+  @Test
+  public void same_tokens_as_regular_expressions_on_sources() throws Exception {
+    int count = 0;
+    for (File directory : new File[] {new File("src/test/resources"), new File("../its/sources")}) {
+      for (File file : Files.fileTreeTraverser().preOrderTraversal(directory)) {
+        if (file.isFile() && file.getName().endsWith(".js")) {
+          assertSameTokens(Files.toString(file, Charsets.UTF_8));
+          count++;
+        }
+      }
+    }
+    assertThat(count).isGreaterThan(0);
+  }
+
+  private void assertSameTokens(String source) {
+    assertThat(describe(lexer.lex(source))).as(source).isEqualTo(describe(regexpLexer.lex(source)));
+  }
+
+  private static List<String> describe(List<Token> tokens) {
+    List<String> result = new ArrayList<>();
+    for (Token token : tokens) {
+      for (Trivia trivia : token.getTrivia()) {
+        result.add(describe(trivia.getToken()));
+      }
+      result.add(describe(token));
+    }
+    return result;
+  }
+
+  private static String describe(Token token) {
+    return token.getType() + " " + token.getLine() + ":" + token.getColumn() + " " + token.getOriginalValue();
+  }
+
+}
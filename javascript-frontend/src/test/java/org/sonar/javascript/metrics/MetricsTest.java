@@ -21,10 +21,22 @@ package org.sonar.javascript.metrics;
 
 import java.io.File;
 import org.junit.Test;
+import org.sonar.api.batch.SensorContext;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.issue.NoSonarFilter;
+import org.sonar.api.measures.FileLinesContext;
+import org.sonar.api.measures.FileLinesContextFactory;
+import org.sonar.api.resources.Resource;
 import org.sonar.javascript.utils.JavaScriptTreeModelTest;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.visitors.TreeVisitorContext;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class MetricsTest extends JavaScriptTreeModelTest {
 
@@ -33,68 +45,79 @@ public class MetricsTest extends JavaScriptTreeModelTest {
     String path = "src/test/resources/metrics/complexity.js";
     Tree tree = p.parse(new File(path));
     assertThat(new ComplexityVisitor().getComplexity(tree)).isEqualTo(23);
+    assertThat(metrics(path, false).complexity()).isEqualTo(23);
   }
 
   @Test
   public void lines_of_code() {
-    String path = "src/test/resources/metrics/lines_of_code.js";
-    Tree tree = p.parse(new File(path));
-    assertThat(new LineVisitor(tree).getLinesOfCodeNumber()).isEqualTo(3);
+    assertThat(metrics("src/test/resources/metrics/lines_of_code.js", false).linesOfCode()).hasSize(3);
   }
 
   @Test
   public void lines() {
-    String path = "src/test/resources/metrics/lines.js";
-    Tree tree = p.parse(new File(path));
-    LineVisitor lineVisitor = new LineVisitor(tree);
-    assertThat(lineVisitor.getLinesNumber()).isEqualTo(5);
-    assertThat(lineVisitor.getLinesOfCode()).containsOnly(2, 3, 4);
+    FileMetrics metrics = metrics("src/test/resources/metrics/lines.js", false);
+    assertThat(metrics.lines()).isEqualTo(5);
+    assertThat(metrics.linesOfCode()).containsOnly(2, 3, 4);
   }
 
   @Test
   public void functions() {
-    String path = "src/test/resources/metrics/functions.js";
-    Tree tree = p.parse(new File(path));
-    assertThat(new CounterVisitor(tree).getFunctionNumber()).isEqualTo(8);
+    assertThat(metrics("src/test/resources/metrics/functions.js", false).functions()).isEqualTo(8);
   }
 
   @Test
   public void statements() {
-    String path = "src/test/resources/metrics/functions.js";
-    Tree tree = p.parse(new File(path));
-    assertThat(new CounterVisitor(tree).getStatementsNumber()).isEqualTo(10);
-
-    path = "src/test/resources/metrics/statements.js";
-    tree = p.parse(new File(path));
-    assertThat(new CounterVisitor(tree).getStatementsNumber()).isEqualTo(16);
+    assertThat(metrics("src/test/resources/metrics/functions.js", false).statements()).isEqualTo(10);
+    assertThat(metrics("src/test/resources/metrics/statements.js", false).statements()).isEqualTo(16);
   }
 
   @Test
   public void accessors() {
-    String path = "src/test/resources/metrics/accessors.js";
-    Tree tree = p.parse(new File(path));
-    assertThat(new CounterVisitor(tree).getAccessorsNumber()).isEqualTo(4);
+    assertThat(metrics("src/test/resources/metrics/accessors.js", false).accessors()).isEqualTo(4);
   }
 
   @Test
   public void classes() {
-    String path = "src/test/resources/metrics/classes.js";
-    Tree tree = p.parse(new File(path));
-    assertThat(new CounterVisitor(tree).getClassNumber()).isEqualTo(3);
+    assertThat(metrics("src/test/resources/metrics/classes.js", false).classes()).isEqualTo(3);
   }
 
   @Test
   public void comments() {
     String path = "src/test/resources/metrics/comments.js";
-    Tree tree = p.parse(new File(path));
-    CommentLineVisitor commentLineVisitor = new CommentLineVisitor(tree, true);
-    assertThat(commentLineVisitor.getCommentLineNumber()).isEqualTo(2);
-    assertThat(commentLineVisitor.noSonarLines()).containsOnly(10);
-    assertThat(commentLineVisitor.getCommentLines()).containsOnly(5, 8);
-
-    commentLineVisitor = new CommentLineVisitor(tree, false);
-    assertThat(commentLineVisitor.getCommentLineNumber()).isEqualTo(3);
-    assertThat(commentLineVisitor.noSonarLines()).containsOnly(10);
+    FileMetrics metrics = metrics(path, true);
+    assertThat(metrics.commentLines()).containsOnly(5, 8);
+    assertThat(metrics.noSonarLines()).containsOnly(10);
+
+    metrics = metrics(path, false);
+    assertThat(metrics.commentLines()).hasSize(3);
+    assertThat(metrics.noSonarLines()).containsOnly(10);
+  }
+
+  @Test
+  public void function_and_class_complexities() {
+    FileMetrics metrics = metrics("src/test/resources/metrics/complexity.js", false);
+    assertThat(metrics.functionComplexities()).containsExactly(18, 3, 2, 1, 1, 1, 1);
+    assertThat(metrics.complexityInClasses()).isEqualTo(3);
+  }
+
+  private FileMetrics metrics(String path, boolean ignoreHeaderComments) {
+    File file = new File(path);
+    DefaultFileSystem fileSystem = new DefaultFileSystem();
+    DefaultInputFile inputFile = new DefaultInputFile(path).setAbsolutePath(file.getAbsolutePath());
+    fileSystem.add(inputFile);
+
+    SensorContext context = mock(SensorContext.class);
+    when(context.getResource(inputFile)).thenReturn(mock(Resource.class));
+    FileLinesContextFactory linesContextFactory = mock(FileLinesContextFactory.class);
+    when(linesContextFactory.createFor(any(DefaultInputFile.class))).thenReturn(mock(FileLinesContext.class));
+
+    MetricsVisitor metricsVisitor = new MetricsVisitor(fileSystem, context, mock(NoSonarFilter.class), ignoreHeaderComments, linesContextFactory);
+    TreeVisitorContext treeVisitorContext = mock(TreeVisitorContext.class);
+    when(treeVisitorContext.getFile()).thenReturn(file);
+    when(treeVisitorContext.getTopTree()).thenReturn((ScriptTree) p.parse(file));
+
+    metricsVisitor.scanTree(treeVisitorContext);
+    return metricsVisitor.fileMetrics();
   }
 
 }
@@ -0,0 +1,101 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.parser;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.typed.ActionParser;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JavaScriptNodeBuilderTest {
+
+  private final ActionParser<Tree> parser = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
+
+  @Test
+  public void tokens_with_same_text_share_it() {
+    List<InternalSyntaxToken> tokens = tokens("foo(foo); bar(foo);");
+
+    assertThat(tokens.get(0).text()).isEqualTo("foo");
+    assertThat(tokens.get(2).text()).isSameAs(tokens.get(0).text());
+    assertThat(tokens.get(7).text()).isSameAs(tokens.get(0).text());
+    assertThat(tokens.get(6).text()).isSameAs(tokens.get(1).text());
+  }
+
+  @Test
+  public void tokens_without_trivia_share_empty_list() {
+    List<InternalSyntaxToken> tokens = tokens("a = b; // comment\nc;");
+
+    assertThat(tokens.get(0).trivias()).isEmpty();
+    assertThat(tokens.get(1).trivias()).isSameAs(tokens.get(0).trivias());
+    assertThat(tokens.get(4).text()).isEqualTo("c");
+    assertThat(tokens.get(4).trivias()).hasSize(1);
+    assertThat(tokens.get(4).trivias().get(0).text()).isEqualTo("// comment");
+  }
+
+  @Test
+  public void byte_order_mark_is_looked_for_in_each_input() {
+    InternalSyntaxToken token = tokens("\uFEFFa;").get(0);
+    assertThat(token.column()).isEqualTo(0);
+    assertThat(token.startIndex()).isEqualTo(0);
+
+    token = tokens("  a;").get(0);
+    assertThat(token.column()).isEqualTo(2);
+    assertThat(token.startIndex()).isEqualTo(2);
+  }
+
+  @Test
+  public void token_positions() {
+    List<InternalSyntaxToken> tokens = tokens("a;\n  /* c */ b;");
+    InternalSyntaxToken b = tokens.get(2);
+
+    assertThat(b.text()).isEqualTo("b");
+    assertThat(b.line()).isEqualTo(2);
+    assertThat(b.column()).isEqualTo(10);
+    assertThat(b.startIndex()).isEqualTo(13);
+    assertThat(b.trivias().get(0).column()).isEqualTo(2);
+    assertThat(tokens.get(tokens.size() - 1).isEOF()).isTrue();
+  }
+
+  private List<InternalSyntaxToken> tokens(String source) {
+    final List<InternalSyntaxToken> tokens = new ArrayList<>();
+    new SubscriptionVisitor() {
+      @Override
+      public List<Kind> nodesToVisit() {
+        List<Kind> kinds = new ArrayList<>();
+        kinds.add(Kind.TOKEN);
+        return kinds;
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        tokens.add((InternalSyntaxToken) tree);
+      }
+    }.scanTree(parser.parse(source));
+    return tokens;
+  }
+
+}
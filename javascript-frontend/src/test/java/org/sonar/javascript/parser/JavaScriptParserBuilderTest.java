@@ -0,0 +1,89 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.parser;
+
+import com.google.common.base.Charsets;
+import org.junit.Test;
+import org.sonar.javascript.tree.impl.JavaScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JavaScriptParserBuilderTest {
+
+  @Test
+  public void create_new_parsers() {
+    assertThat(JavaScriptParserBuilder.createParser(Charsets.UTF_8)).isNotSameAs(JavaScriptParserBuilder.createParser(Charsets.UTF_8));
+  }
+
+  @Test
+  public void reuse_released_parsers() {
+    JavaScriptParser parser = JavaScriptParserBuilder.acquireParser(Charsets.UTF_16BE);
+    JavaScriptParser other = JavaScriptParserBuilder.acquireParser(Charsets.UTF_16BE);
+    assertThat(other).isNotSameAs(parser);
+    assertThat(parser.charset()).isEqualTo(Charsets.UTF_16BE);
+    assertThat(parser.parse("a = 1;").is(Kind.SCRIPT)).isTrue();
+
+    JavaScriptParserBuilder.releaseParser(parser, 1);
+    assertThat(JavaScriptParserBuilder.acquireParser(Charsets.UTF_16LE)).isNotSameAs(parser);
+    assertThat(JavaScriptParserBuilder.acquireParser(Charsets.UTF_16BE)).isSameAs(parser);
+    assertThat(parser.parse("b = 2;").is(Kind.SCRIPT)).isTrue();
+  }
+
+  @Test
+  public void keep_at_most_given_number_of_idle_parsers() {
+    JavaScriptParser parser = JavaScriptParserBuilder.acquireParser(Charsets.ISO_8859_1);
+    JavaScriptParser other = JavaScriptParserBuilder.acquireParser(Charsets.ISO_8859_1);
+
+    JavaScriptParserBuilder.releaseParser(parser, 1);
+    JavaScriptParserBuilder.releaseParser(other, 1);
+    assertThat(JavaScriptParserBuilder.acquireParser(Charsets.ISO_8859_1)).isSameAs(parser);
+    assertThat(JavaScriptParserBuilder.acquireParser(Charsets.ISO_8859_1)).isNotSameAs(other);
+  }
+
+  @Test
+  public void cleared_parsers_are_not_reused() {
+    JavaScriptParser parser = JavaScriptParserBuilder.acquireParser(Charsets.UTF_8);
+    JavaScriptParserBuilder.releaseParser(parser, 1);
+    JavaScriptParserBuilder.clearIdleParsers();
+    JavaScriptParser other = JavaScriptParserBuilder.acquireParser(Charsets.UTF_8);
+    assertThat(other).isNotSameAs(parser);
+
+    JavaScriptParserBuilder.releaseParser(other, 1);
+    assertThat(JavaScriptParserBuilder.acquireParser(Charsets.UTF_8)).isSameAs(other);
+  }
+
+  @Test
+  public void released_parsers_forget_token_texts() {
+    JavaScriptParser parser = JavaScriptParserBuilder.acquireParser(Charsets.US_ASCII);
+    String text = firstTokenText(parser.parse("foo;"));
+    assertThat(firstTokenText(parser.parse("foo;"))).isSameAs(text);
+
+    JavaScriptParserBuilder.releaseParser(parser, 1);
+    assertThat(JavaScriptParserBuilder.acquireParser(Charsets.US_ASCII)).isSameAs(parser);
+    assertThat(firstTokenText(parser.parse("foo;"))).isEqualTo(text).isNotSameAs(text);
+  }
+
+  private static String firstTokenText(Tree tree) {
+    return ((JavaScriptTree) tree).getFirstToken().text();
+  }
+
+}
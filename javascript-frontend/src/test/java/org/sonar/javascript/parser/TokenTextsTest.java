@@ -0,0 +1,57 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.parser;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class TokenTextsTest {
+
+  @Test
+  public void same_characters_give_same_string() {
+    TokenTexts tokenTexts = new TokenTexts();
+    char[] chars = "foo bar foo fo".toCharArray();
+
+    String foo = tokenTexts.get(chars, 0, 3);
+    assertThat(foo).isEqualTo("foo");
+    assertThat(tokenTexts.get(chars, 8, 11)).isSameAs(foo);
+    assertThat(tokenTexts.get(chars, 4, 7)).isEqualTo("bar");
+    assertThat(tokenTexts.get(chars, 12, 14)).isEqualTo("fo");
+    assertThat(tokenTexts.get(chars, 3, 3)).isEmpty();
+    assertThat(tokenTexts.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void grows_with_distinct_texts() {
+    TokenTexts tokenTexts = new TokenTexts();
+    String[] texts = new String[5000];
+    for (int i = 0; i < texts.length; i++) {
+      char[] chars = ("id" + i).toCharArray();
+      texts[i] = tokenTexts.get(chars, 0, chars.length);
+    }
+    for (int i = 0; i < texts.length; i++) {
+      char[] chars = ("id" + i).toCharArray();
+      assertThat(tokenTexts.get(chars, 0, chars.length)).isSameAs(texts[i]);
+    }
+    assertThat(tokenTexts.size()).isEqualTo(5000);
+  }
+
+}
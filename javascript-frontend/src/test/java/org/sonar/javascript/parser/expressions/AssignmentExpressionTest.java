@@ -36,6 +36,32 @@ public class AssignmentExpressionTest {
       .matches("leftHandSideExpression = leftHandSideExpression = conditionalExpression");
   }
 
+  @Test
+  public void arrow_functions_and_parenthesised_expressions() {
+    assertThat(JavaScriptLegacyGrammar.ASSIGNMENT_EXPRESSION)
+      .matches("(a) => b")
+      .matches("(a, b) => (c) => a + b + c")
+      .matches("(a = (b) => b) => a")
+      .matches("a => b = c")
+      .matches("(a) = b")
+      .matches("(a, b)")
+      .matches("(a) + b")
+      .notMatches("a \n => b");
+  }
+
+  @Test
+  public void first_tokens_of_arrow_functions_and_yield_expressions() {
+    assertThat(JavaScriptLegacyGrammar.ASSIGNMENT_EXPRESSION)
+      .matches(" /* comment */ a => b")
+      .matches("\\u0061 => a")
+      .matches("$ => _")
+      .matches("yield a")
+      .matches("[a] = b")
+      .matches("{}")
+      .matches("1 + a")
+      .matches("-a");
+  }
+
   @Test
   public void realLife() {
     assertThat(JavaScriptLegacyGrammar.ASSIGNMENT_EXPRESSION)
@@ -31,14 +31,23 @@ public class ExpressionStatementTest {
   public void ok() {
     assertThat(Kind.EXPRESSION_STATEMENT)
       .matches("a = b;")
-      .matches("a = b");
+      .matches("a = b")
+      .matches("functional()")
+      .matches("iffy = doSomething instanceof Function")
+      .matches("variable in object")
+      .matches("typeof a")
+      .matches("new A()")
+      .matches("this.a = null");
   }
 
   @Test
   public void ko() {
     assertThat(Kind.EXPRESSION_STATEMENT)
       .notMatches("function foo() {}")
-      .notMatches("{}");
+      .notMatches("{}")
+      .notMatches("if (a) b;")
+      .notMatches("return a;")
+      .notMatches("var a;");
   }
 
 }
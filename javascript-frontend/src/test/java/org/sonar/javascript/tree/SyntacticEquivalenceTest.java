@@ -19,11 +19,15 @@
  */
 package org.sonar.javascript.tree;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 import org.sonar.javascript.tree.impl.JavaScriptTree;
 import org.sonar.javascript.utils.JavaScriptTreeModelTest;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.tree.declaration.ParameterListTree;
+import org.sonar.plugins.javascript.api.tree.statement.ExpressionStatementTree;
 
 import static org.fest.assertions.Assertions.assertThat;
 
@@ -49,6 +53,40 @@ public class SyntacticEquivalenceTest extends JavaScriptTreeModelTest {
     assertThat(SyntacticEquivalence.areEquivalent(tree1, tree5)).isFalse();
   }
 
+  @Test
+  public void test_hash() throws Exception {
+    Tree tree1 = expression("a.b(c, 1);");
+    Tree tree2 = expression("a . b( c,1 ) /* comment */;");
+    Tree tree3 = expression("a.b(c, 2);");
+    Tree tree4 = expression("a.b(1, c);");
+
+    assertThat(SyntacticEquivalence.hash(tree1)).isEqualTo(SyntacticEquivalence.hash(tree2));
+    assertThat(SyntacticEquivalence.areEquivalent(tree1, tree2)).isTrue();
+    assertThat(SyntacticEquivalence.hash(tree1)).isNotEqualTo(SyntacticEquivalence.hash(tree3));
+    assertThat(SyntacticEquivalence.hash(tree1)).isNotEqualTo(SyntacticEquivalence.hash(tree4));
+    assertThat(SyntacticEquivalence.hash((Tree) null)).isEqualTo(0);
+    assertThat(SyntacticEquivalence.hash(ImmutableList.of(tree1, tree3))).isEqualTo(SyntacticEquivalence.hash(ImmutableList.of(tree2, tree3)));
+    assertThat(SyntacticEquivalence.hash(ImmutableList.of(tree1, tree3))).isNotEqualTo(SyntacticEquivalence.hash(ImmutableList.of(tree3, tree1)));
+  }
+
+  @Test
+  public void test_equivalence_of_deeply_nested_trees() throws Exception {
+    String chain = "a" + Strings.repeat(" + a", 20000);
+    Tree tree1 = expression(chain + ";");
+    Tree tree2 = expression(chain + ";");
+    Tree tree3 = expression(chain + " + b;");
+    Tree tree4 = expression(chain + " + a;");
+
+    assertThat(SyntacticEquivalence.areEquivalent(tree1, tree2)).isTrue();
+    assertThat(SyntacticEquivalence.areEquivalent(tree1, tree3)).isFalse();
+    assertThat(SyntacticEquivalence.areEquivalent(tree3, tree4)).isFalse();
+  }
+
+  private Tree expression(String source) {
+    ScriptTree script = (ScriptTree) p.parse(source);
+    return ((ExpressionStatementTree) script.items().items().get(0)).expression();
+  }
+
   @Test
   public void test_equivalence_for_tree_list() throws Exception {
     ParameterListTree tree1 = parse("f(a, b, c) ;", Tree.Kind.ARGUMENTS);
@@ -0,0 +1,122 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.tree.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.sonar.javascript.utils.JavaScriptTreeModelTest;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+import org.sonar.plugins.javascript.api.tree.declaration.FunctionDeclarationTree;
+import org.sonar.plugins.javascript.api.tree.expression.ArrayLiteralTree;
+import org.sonar.plugins.javascript.api.tree.expression.ArrowFunctionTree;
+import org.sonar.plugins.javascript.api.tree.statement.BlockTree;
+import org.sonar.plugins.javascript.api.tree.statement.IfStatementTree;
+import org.sonar.plugins.javascript.api.tree.statement.ReturnStatementTree;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JavaScriptTreeTest extends JavaScriptTreeModelTest {
+
+  @Test
+  public void first_and_last_tokens() throws Exception {
+    FunctionDeclarationTree tree = parse("function f(a) {\n  return a;\n}", Kind.FUNCTION_DECLARATION);
+    JavaScriptTree javaScriptTree = (JavaScriptTree) tree;
+
+    assertThat(javaScriptTree.getFirstToken()).isSameAs(tree.functionKeyword());
+    assertThat(javaScriptTree.getLastToken()).isSameAs(tree.body().closeCurlyBrace());
+    assertThat(javaScriptTree.getLine()).isEqualTo(1);
+
+    assertThat(javaScriptTree.getFirstToken()).isSameAs(tree.functionKeyword());
+    assertThat(javaScriptTree.getLastToken()).isSameAs(tree.body().closeCurlyBrace());
+    assertThat(((JavaScriptTree) tree.body().statements().get(0)).getLastToken().text()).isEqualTo(";");
+  }
+
+  @Test
+  public void last_token_of_nested_trees() throws Exception {
+    ArrayLiteralTree tree = parse("[a, b];", Kind.ARRAY_LITERAL);
+
+    assertThat(((JavaScriptTree) tree).getLastToken()).isSameAs(tree.closeBracket());
+    assertThat(((JavaScriptTree) tree.elements().get(1)).getLastToken().text()).isEqualTo("b");
+  }
+
+  @Test
+  public void parent_and_ancestors() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse("function f(a) {\n  return a;\n}");
+    FunctionDeclarationTree function = (FunctionDeclarationTree) script.items().items().get(0);
+    ReturnStatementTree returnStatement = (ReturnStatementTree) function.body().statements().get(0);
+
+    assertThat(script.parent()).isNull();
+    assertThat(script.ancestors()).isEmpty();
+    assertThat(returnStatement.parent()).isSameAs(function.body());
+    assertThat(function.body().parent()).isSameAs(function);
+    assertThat(returnStatement.returnKeyword().parent()).isSameAs(returnStatement);
+    assertThat(returnStatement.ancestors()).containsExactly(function.body(), function, script.items(), script);
+  }
+
+  @Test
+  public void enclosing_trees() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse("function f() {\n  if (a) {\n    return x => x + 1;\n  }\n}");
+    FunctionDeclarationTree function = (FunctionDeclarationTree) script.items().items().get(0);
+    IfStatementTree ifStatement = (IfStatementTree) function.body().statements().get(0);
+    ReturnStatementTree returnStatement = (ReturnStatementTree) ((BlockTree) ifStatement.statement()).statements().get(0);
+    ArrowFunctionTree arrowFunction = (ArrowFunctionTree) returnStatement.expression();
+    Tree plus = arrowFunction.conciseBody();
+
+    assertThat(plus.enclosingFunction()).isSameAs(arrowFunction);
+    assertThat(arrowFunction.enclosingFunction()).isSameAs(function);
+    assertThat(function.enclosingFunction()).isNull();
+    assertThat(arrowFunction.enclosing(Kind.IF_STATEMENT, Kind.WHILE_STATEMENT)).isSameAs(ifStatement);
+    assertThat(arrowFunction.enclosing(Kind.WHILE_STATEMENT)).isNull();
+  }
+
+  @Test
+  public void subtree_kinds() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse("function f() {\n  if (a) {\n    return g(1);\n  }\n}\nvar x = 2;");
+    FunctionDeclarationTree function = (FunctionDeclarationTree) script.items().items().get(0);
+    Tree variableStatement = script.items().items().get(1);
+    long[] calls = KindMasks.of(ImmutableList.of(Kind.CALL_EXPRESSION));
+    long[] tokens = KindMasks.of(ImmutableList.of(Kind.TOKEN));
+
+    assertThat(((JavaScriptTree) script).mayContain(calls)).isTrue();
+    assertThat(((JavaScriptTree) function).mayContain(calls)).isTrue();
+    assertThat(((JavaScriptTree) variableStatement).mayContain(calls)).isFalse();
+    assertThat(((JavaScriptTree) variableStatement).mayContain(tokens)).isTrue();
+    assertThat(((JavaScriptTree) function.functionKeyword()).mayContain(tokens)).isTrue();
+    assertThat(((JavaScriptTree) function.functionKeyword()).mayContain(calls)).isFalse();
+    assertThat(((JavaScriptTree) function).mayContain(KindMasks.of(ImmutableList.of(Kind.FUNCTION_DECLARATION)))).isTrue();
+    assertThat(((JavaScriptTree) function).mayContain(KindMasks.empty())).isFalse();
+  }
+
+  @Test
+  public void subtrees_with_same_kinds_share_them() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse("a(1);\nb(2);\nif (c) { d(); }");
+    JavaScriptTree first = (JavaScriptTree) script.items().items().get(0);
+    JavaScriptTree second = (JavaScriptTree) script.items().items().get(1);
+    JavaScriptTree ifStatement = (JavaScriptTree) script.items().items().get(2);
+
+    assertThat(second.subtreeKinds()).isSameAs(first.subtreeKinds());
+    assertThat(ifStatement.subtreeKinds()).isNotSameAs(first.subtreeKinds());
+    assertThat(ifStatement.mayContain(KindMasks.of(ImmutableList.of(Kind.IF_STATEMENT)))).isTrue();
+    assertThat(first.mayContain(KindMasks.of(ImmutableList.of(Kind.IF_STATEMENT)))).isFalse();
+  }
+
+}
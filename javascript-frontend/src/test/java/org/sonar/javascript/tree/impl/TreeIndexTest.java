@@ -0,0 +1,76 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.tree.impl;
+
+import java.io.File;
+import java.util.List;
+import org.junit.Test;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.tree.impl.declaration.ScriptTreeImpl;
+import org.sonar.javascript.utils.JavaScriptTreeModelTest;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+import org.sonar.plugins.javascript.api.tree.expression.CallExpressionTree;
+import org.sonar.plugins.javascript.api.tree.expression.IdentifierTree;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class TreeIndexTest extends JavaScriptTreeModelTest {
+
+  private static final String SOURCE = "f(g(1), 'a');\nfunction h() {\n  return k('b');\n}";
+
+  @Test
+  public void trees_in_document_order() throws Exception {
+    ScriptTreeImpl script = (ScriptTreeImpl) p.parse(SOURCE);
+    List<Tree> calls = script.index().trees(Kind.CALL_EXPRESSION);
+
+    assertThat(calls).hasSize(3);
+    assertThat(callee(calls.get(0))).isEqualTo("f");
+    assertThat(callee(calls.get(1))).isEqualTo("g");
+    assertThat(callee(calls.get(2))).isEqualTo("k");
+    assertThat(calls.get(2).enclosingFunction().is(Kind.FUNCTION_DECLARATION)).isTrue();
+    assertThat(script.index().trees(Kind.STRING_LITERAL)).hasSize(2);
+    assertThat(script.index().trees(Kind.SCRIPT)).containsExactly(script);
+    assertThat(script.index().trees(Kind.WHILE_STATEMENT)).isEmpty();
+  }
+
+  @Test
+  public void trees_of_context() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse(SOURCE);
+    JavaScriptCheckContext context = new JavaScriptCheckContext(script, new File("file.js"), SOURCE, null);
+
+    assertThat(context.getTrees(Kind.CALL_EXPRESSION)).isEqualTo(((ScriptTreeImpl) script).index().trees(Kind.CALL_EXPRESSION));
+    assertThat(context.getTrees(Kind.TOKEN).get(0)).isSameAs(((JavaScriptTree) script).getFirstToken());
+  }
+
+  @Test
+  public void index_built_on_first_access() throws Exception {
+    ScriptTreeImpl script = (ScriptTreeImpl) p.parse(SOURCE);
+    script.setIndex(null);
+
+    assertThat(script.index().trees(Kind.CALL_EXPRESSION)).hasSize(3);
+  }
+
+  private static String callee(Tree call) {
+    return ((IdentifierTree) ((CallExpressionTree) call).callee()).name();
+  }
+
+}
@@ -50,6 +50,17 @@ public class SymbolModelImplTest extends JavaScriptTreeModelTest {
     assertThat(SYMBOL_MODEL.getSymbols("arguments")).hasSize(2);
   }
 
+  @Test(expected = UnsupportedOperationException.class)
+  public void symbols_filtering_is_read_only() {
+    SYMBOL_MODEL.getSymbols(Symbol.Kind.VARIABLE).clear();
+  }
+
+  @Test
+  public void symbols_filtering_without_result() {
+    assertThat(SYMBOL_MODEL.getSymbols("unknown")).isEmpty();
+    assertThat(SYMBOL_MODEL.getSymbols(Symbol.Kind.CLASS)).isEmpty();
+  }
+
   @Test
   public void symbols_scope() {
     Symbol f = (Symbol) SYMBOL_MODEL.getSymbols("f").toArray()[0];
@@ -58,5 +69,16 @@ public class SymbolModelImplTest extends JavaScriptTreeModelTest {
     assertThat(e.scope().tree().is(Tree.Kind.CATCH_BLOCK)).isTrue();
   }
 
+  @Test
+  public void scope_by_tree() {
+    for (Scope scope : SYMBOL_MODEL.getScopes()) {
+      assertThat(SYMBOL_MODEL.getScope(scope.tree())).isSameAs(scope);
+    }
+    assertThat(SYMBOL_MODEL.getScope(SYMBOL_MODEL.globalScope().tree())).isSameAs(SYMBOL_MODEL.globalScope());
+
+    Symbol e = (Symbol) SYMBOL_MODEL.getSymbols("e").toArray()[0];
+    assertThat(SYMBOL_MODEL.getScope(e.usages().iterator().next().identifierTree())).isNull();
+  }
+
 
 }
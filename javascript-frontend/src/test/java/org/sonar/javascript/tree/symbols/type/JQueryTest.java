@@ -0,0 +1,87 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.javascript.tree.symbols.type;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.sonar.javascript.tree.symbols.SymbolModelImpl;
+import org.sonar.javascript.utils.JavaScriptTreeModelTest;
+import org.sonar.plugins.javascript.api.symbols.Type;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.expression.CallExpressionTree;
+import org.sonar.plugins.javascript.api.tree.expression.DotMemberExpressionTree;
+import org.sonar.plugins.javascript.api.tree.expression.IdentifierTree;
+import org.sonar.plugins.javascript.api.tree.statement.ExpressionStatementTree;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JQueryTest extends JavaScriptTreeModelTest {
+
+  @Test
+  public void aliases() throws Exception {
+    JQuery jQuery = new JQuery(new String[] {"jq", "$"});
+
+    assertThat(jQuery.isJQueryObject(identifier("jq;"))).isTrue();
+    assertThat(jQuery.isJQueryObject(identifier("$;"))).isTrue();
+    assertThat(jQuery.isJQueryObject(identifier("jQuery;"))).isFalse();
+  }
+
+  @Test
+  public void selector_objects_of_long_chain() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse("$('div')" + Strings.repeat(".find('a')", 500) + ";");
+    SymbolModelImpl.create(script, null);
+    CallExpressionTree call = (CallExpressionTree) ((ExpressionStatementTree) script.items().items().get(0)).expression();
+    JQuery jQuery = new JQuery(new String[] {"$"});
+
+    assertThat(jQuery.isSelectorObject(call)).isFalse();
+    assertThat(call.types().contains(Type.Kind.JQUERY_SELECTOR_OBJECT)).isFalse();
+
+    while (call.callee() instanceof DotMemberExpressionTree) {
+      call = (CallExpressionTree) ((DotMemberExpressionTree) call.callee()).object();
+    }
+    assertThat(jQuery.isSelectorObject(call)).isTrue();
+    assertThat(call.types().contains(Type.Kind.JQUERY_SELECTOR_OBJECT)).isTrue();
+  }
+
+  @Test
+  public void selector_objects_typed_from_inner_call() throws Exception {
+    ScriptTree script = (ScriptTree) p.parse("$('div').find('a').find('b'); x.find('a');");
+    SymbolModelImpl.create(script, null);
+    CallExpressionTree outer = (CallExpressionTree) ((ExpressionStatementTree) script.items().items().get(0)).expression();
+    CallExpressionTree inner = (CallExpressionTree) ((DotMemberExpressionTree) outer.callee()).object();
+    CallExpressionTree notSelector = (CallExpressionTree) ((ExpressionStatementTree) script.items().items().get(1)).expression();
+    JQuery jQuery = new JQuery(new String[] {"$"}, ImmutableSet.of("find"));
+
+    assertThat(jQuery.isSelectorObject(inner)).isTrue();
+    assertThat(jQuery.isSelectorObject(notSelector)).isFalse();
+
+    // the inner call was typed without the injected selector method: the outer call is not a selector object until it is
+    assertThat(jQuery.isSelectorObject(outer)).isFalse();
+    ((TypableTree) inner).add(ObjectType.FrameworkType.JQUERY_SELECTOR_OBJECT);
+    assertThat(jQuery.isSelectorObject(outer)).isTrue();
+  }
+
+  private IdentifierTree identifier(String source) {
+    ScriptTree script = (ScriptTree) p.parse(source);
+    return (IdentifierTree) ((ExpressionStatementTree) script.items().items().get(0)).expression();
+  }
+
+}
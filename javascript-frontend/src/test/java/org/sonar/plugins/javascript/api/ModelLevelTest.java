@@ -0,0 +1,49 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.api;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ModelLevelTest {
+
+  @Test
+  public void declared_level() throws Exception {
+    assertThat(ModelLevel.of(new TreeCheck())).isEqualTo(ModelLevel.TREE);
+    assertThat(ModelLevel.of(new InheritedTreeCheck())).isEqualTo(ModelLevel.TREE);
+    assertThat(ModelLevel.of(new Object())).isEqualTo(ModelLevel.TYPES);
+  }
+
+  @Test
+  public void max() throws Exception {
+    assertThat(ModelLevel.TREE.max(ModelLevel.SYMBOLS)).isEqualTo(ModelLevel.SYMBOLS);
+    assertThat(ModelLevel.TYPES.max(ModelLevel.SYMBOLS)).isEqualTo(ModelLevel.TYPES);
+    assertThat(ModelLevel.TREE.max(null)).isEqualTo(ModelLevel.TREE);
+  }
+
+  @RequiresModel(ModelLevel.TREE)
+  private static class TreeCheck {
+  }
+
+  private static class InheritedTreeCheck extends TreeCheck {
+  }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.api.visitors;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.sonar.sslr.api.typed.ActionParser;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.sonar.javascript.JavaScriptCheckContext;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
+import org.sonar.plugins.javascript.api.tree.ScriptTree;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+import org.sonar.plugins.javascript.api.tree.expression.IdentifierTree;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SubscriptionVisitorDispatcherTest {
+
+  private final ActionParser<Tree> parser = JavaScriptParserBuilder.createParser(Charsets.UTF_8);
+
+  @Test
+  public void should_notify_subscribers_in_registration_order() throws Exception {
+    List<String> events = new ArrayList<>();
+    RecordingVisitor first = new RecordingVisitor("first", events, Kind.CALL_EXPRESSION, Kind.IDENTIFIER_REFERENCE);
+    RecordingVisitor second = new RecordingVisitor("second", events, Kind.CALL_EXPRESSION);
+
+    new SubscriptionVisitorDispatcher(ImmutableList.of(first, second)).scanFile(context("foo(a);"));
+
+    assertThat(events).containsExactly(
+      "first visitFile",
+      "second visitFile",
+      "first visit CALL_EXPRESSION",
+      "second visit CALL_EXPRESSION",
+      "first visit IDENTIFIER_REFERENCE",
+      "first leave IDENTIFIER_REFERENCE",
+      "first visit IDENTIFIER_REFERENCE",
+      "first leave IDENTIFIER_REFERENCE",
+      "first leave CALL_EXPRESSION",
+      "second leave CALL_EXPRESSION",
+      "first leaveFile",
+      "second leaveFile");
+  }
+
+  @Test
+  public void should_visit_like_separate_traversals() throws Exception {
+    List<String> fusedEvents = new ArrayList<>();
+    List<String> separateEvents = new ArrayList<>();
+    String source = "function f(a) { if (a) { return g(a, function() { return 1; }); } }";
+
+    new SubscriptionVisitorDispatcher(ImmutableList.of(new RecordingVisitor("v", fusedEvents, Kind.IF_STATEMENT, Kind.FUNCTION_EXPRESSION)))
+      .scanFile(context(source));
+    new RecordingVisitor("v", separateEvents, Kind.IF_STATEMENT, Kind.FUNCTION_EXPRESSION).scanTree(context(source));
+
+    assertThat(fusedEvents).isEqualTo(separateEvents);
+  }
+
+  @Test
+  public void should_skip_subtrees_without_subscribed_kinds() throws Exception {
+    List<String> fusedEvents = new ArrayList<>();
+    List<String> separateEvents = new ArrayList<>();
+    String source = "var a = b + c * (d - e);\nfunction f() { let x = 1; }\nlet y = [x, function() { let z; }];";
+
+    new SubscriptionVisitorDispatcher(ImmutableList.of(new RecordingVisitor("v", fusedEvents, Kind.LET_DECLARATION)))
+      .scanFile(context(source));
+    new RecordingVisitor("v", separateEvents, Kind.LET_DECLARATION).scanTree(context(source));
+
+    assertThat(fusedEvents).containsExactly(
+      "v visitFile",
+      "v visit LET_DECLARATION",
+      "v leave LET_DECLARATION",
+      "v visit LET_DECLARATION",
+      "v leave LET_DECLARATION",
+      "v visit LET_DECLARATION",
+      "v leave LET_DECLARATION",
+      "v leaveFile");
+    assertThat(separateEvents).isEqualTo(fusedEvents);
+  }
+
+  @Test
+  public void should_read_subscriptions_for_each_file() throws Exception {
+    final List<String> events = new ArrayList<>();
+    SubscriptionVisitor visitor = new RecordingVisitor("v", events, Kind.CALL_EXPRESSION) {
+      @Override
+      public List<Kind> nodesToVisit() {
+        events.add("nodesToVisit");
+        return super.nodesToVisit();
+      }
+    };
+
+    visitor.scanTree(context("f();"));
+    visitor.scanTree(context("g();"));
+
+    assertThat(events).containsExactly(
+      "nodesToVisit",
+      "v visitFile",
+      "v visit CALL_EXPRESSION",
+      "v leave CALL_EXPRESSION",
+      "v leaveFile",
+      "nodesToVisit",
+      "v visitFile",
+      "v visit CALL_EXPRESSION",
+      "v leave CALL_EXPRESSION",
+      "v leaveFile");
+  }
+
+  @Test
+  public void should_visit_deeply_nested_trees() throws Exception {
+    List<String> fusedEvents = new ArrayList<>();
+    List<String> separateEvents = new ArrayList<>();
+    String source = "x = a" + Strings.repeat(" + a", 20000) + ";";
+
+    new SubscriptionVisitorDispatcher(ImmutableList.of(new RecordingVisitor("v", fusedEvents, Kind.PLUS))).scanFile(context(source));
+    new RecordingVisitor("v", separateEvents, Kind.PLUS).scanTree(context(source));
+
+    assertThat(fusedEvents).hasSize(2 * 20000 + 2);
+    assertThat(fusedEvents.get(20000)).isEqualTo("v visit PLUS");
+    assertThat(fusedEvents.get(20001)).isEqualTo("v leave PLUS");
+    assertThat(separateEvents).isEqualTo(fusedEvents);
+  }
+
+  @Test
+  public void should_return_issues_of_checks() throws Exception {
+    SubscriptionVisitorCheck check = new SubscriptionVisitorCheck() {
+      @Override
+      public List<Kind> nodesToVisit() {
+        return ImmutableList.of(Kind.IDENTIFIER_REFERENCE);
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        addLineIssue(tree, "message");
+      }
+    };
+    SubscriptionVisitorDispatcher dispatcher = new SubscriptionVisitorDispatcher(ImmutableList.of(check));
+
+    assertThat(dispatcher.scanFile(context("a; b;"))).hasSize(2);
+    // issues are reset for each file
+    assertThat(dispatcher.scanFile(context("a;"))).hasSize(1);
+    assertThat(check.getContext()).isNotNull();
+  }
+
+  @Test
+  public void should_honour_narrowed_subscriptions() throws Exception {
+    List<String> fusedEvents = new ArrayList<>();
+    List<String> separateEvents = new ArrayList<>();
+    String source = "foo(a, b); a;";
+
+    new SubscriptionVisitorDispatcher(ImmutableList.of(new NarrowedVisitor(fusedEvents))).scanFile(context(source));
+    new NarrowedVisitor(separateEvents).scanTree(context(source));
+
+    assertThat(fusedEvents).containsExactly(
+      "v visitFile",
+      "v visit IDENTIFIER_REFERENCE",
+      "v leave IDENTIFIER_REFERENCE",
+      "v visit IDENTIFIER_REFERENCE",
+      "v leave IDENTIFIER_REFERENCE",
+      "v leaveFile");
+    assertThat(separateEvents).isEqualTo(fusedEvents);
+  }
+
+  @Test
+  public void should_let_checks_overriding_scan_file_scan_it() throws Exception {
+    SubscriptionVisitorCheck firstIssueCheck = new SubscriptionVisitorCheck() {
+      @Override
+      public List<Kind> nodesToVisit() {
+        return ImmutableList.of(Kind.IDENTIFIER_REFERENCE);
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        addLineIssue(tree, "first");
+      }
+
+      @Override
+      public List<Issue> scanFile(TreeVisitorContext context) {
+        return super.scanFile(context).subList(0, 1);
+      }
+    };
+    SubscriptionVisitorCheck otherCheck = new SubscriptionVisitorCheck() {
+      @Override
+      public List<Kind> nodesToVisit() {
+        return ImmutableList.of(Kind.IDENTIFIER_REFERENCE);
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        addLineIssue(tree, "other");
+      }
+    };
+
+    List<Issue> issues = new SubscriptionVisitorDispatcher(ImmutableList.of(firstIssueCheck, otherCheck)).scanFile(context("a; b;"));
+
+    assertThat(issues).hasSize(3);
+    assertThat(((LineIssue) issues.get(0)).message()).isEqualTo("first");
+    assertThat(firstIssueCheck.scanFile(context("a; b;"))).hasSize(1);
+  }
+
+  private TreeVisitorContext context(String source) {
+    return new JavaScriptCheckContext((ScriptTree) parser.parse(source), new File("file.js"), source, null);
+  }
+
+  private static class NarrowedVisitor extends RecordingVisitor {
+
+    NarrowedVisitor(List<String> events) {
+      super("v", events, Kind.IDENTIFIER_REFERENCE);
+    }
+
+    @Override
+    protected boolean isSubscribed(Tree tree) {
+      return super.isSubscribed(tree) && "a".equals(((IdentifierTree) tree).name());
+    }
+  }
+
+  private static class RecordingVisitor extends SubscriptionVisitor {
+
+    private final String name;
+    private final List<String> events;
+    private final List<Kind> kinds;
+
+    RecordingVisitor(String name, List<String> events, Kind... kinds) {
+      this.name = name;
+      this.events = events;
+      this.kinds = ImmutableList.copyOf(kinds);
+    }
+
+    @Override
+    public List<Kind> nodesToVisit() {
+      return kinds;
+    }
+
+    @Override
+    public void visitFile(Tree scriptTree) {
+      events.add(name + " visitFile");
+    }
+
+    @Override
+    public void leaveFile(Tree scriptTree) {
+      events.add(name + " leaveFile");
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      events.add(name + " visit " + ((org.sonar.javascript.tree.impl.JavaScriptTree) tree).getKind());
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      events.add(name + " leave " + ((org.sonar.javascript.tree.impl.JavaScriptTree) tree).getKind());
+    }
+  }
+
+}
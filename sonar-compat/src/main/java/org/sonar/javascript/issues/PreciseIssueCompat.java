@@ -19,6 +19,8 @@
  */
 package org.sonar.javascript.issues;
 
+import java.util.List;
+import javax.annotation.Nullable;
 import org.sonar.api.batch.SensorContext;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.TextRange;
@@ -34,17 +36,24 @@ public class PreciseIssueCompat {
   }
 
   public static void save(SensorContext sensorContext, InputFile inputFile, RuleKey ruleKey, PreciseIssue issue) {
+    save(sensorContext, inputFile, ruleKey, issue.primaryLocation(), issue.secondaryLocations(), issue.cost());
+  }
+
+  public static void save(
+    SensorContext sensorContext, InputFile inputFile, RuleKey ruleKey,
+    IssueLocation primaryLocation, List<IssueLocation> secondaryLocations, @Nullable Double cost
+  ) {
     NewIssue newIssue = sensorContext.newIssue();
 
     newIssue
       .forRule(ruleKey)
-      .at(newLocation(inputFile, newIssue, issue.primaryLocation()));
+      .at(newLocation(inputFile, newIssue, primaryLocation));
 
-    if (issue.cost() != null) {
-      newIssue.effortToFix(issue.cost());
+    if (cost != null) {
+      newIssue.effortToFix(cost);
     }
 
-    for (IssueLocation secondary : issue.secondaryLocations()) {
+    for (IssueLocation secondary : secondaryLocations) {
       newIssue.addLocation(newLocation(inputFile, newIssue, secondary));
     }
     newIssue.save();
@@ -27,6 +27,7 @@ import org.sonar.api.config.PropertyDefinition;
 import org.sonar.api.resources.Qualifiers;
 import org.sonar.javascript.tree.symbols.type.JQuery;
 import org.sonar.plugins.javascript.cpd.JavaScriptCpdMapping;
+import org.sonar.plugins.javascript.cpd.CpdTokenStore;
 import org.sonar.plugins.javascript.lcov.ITCoverageSensor;
 import org.sonar.plugins.javascript.lcov.UTCoverageSensor;
 import org.sonar.plugins.javascript.rules.JavaScriptCommonRulesDecorator;
@@ -67,6 +68,17 @@ public class JavaScriptPlugin extends SonarPlugin {
   public static final String EXCLUDE_MINIFIED_FILES = PROPERTY_PREFIX + ".exclude.minifiedFiles";
   public static final Boolean EXCLUDE_MINIFIED_FILES_DEFAULT_VALUE = true;
 
+  public static final String ANALYSIS_THREADS = PROPERTY_PREFIX + ".analysis.threads";
+  public static final Integer ANALYSIS_THREADS_DEFAULT_VALUE = 1;
+
+  public static final String ANALYSIS_CACHE = PROPERTY_PREFIX + ".analysis.cache";
+  public static final Boolean ANALYSIS_CACHE_DEFAULT_VALUE = false;
+
+  public static final String ANALYSIS_PROFILING = PROPERTY_PREFIX + ".analysis.profiling";
+  public static final Boolean ANALYSIS_PROFILING_DEFAULT_VALUE = false;
+
+  public static final String SYMBOL_HIGHLIGHTING = PROPERTY_PREFIX + ".symbolHighlighting";
+  public static final Boolean SYMBOL_HIGHLIGHTING_DEFAULT_VALUE = true;
 
 
   @Override
@@ -74,6 +86,7 @@ public class JavaScriptPlugin extends SonarPlugin {
     return ImmutableList.of(
       JavaScriptLanguage.class,
       JavaScriptCpdMapping.class,
+      CpdTokenStore.class,
 
       JavaScriptSquidSensor.class,
       JavaScriptRulesDefinition.class,
@@ -143,6 +156,45 @@ public class JavaScriptPlugin extends SonarPlugin {
         .onQualifiers(Qualifiers.PROJECT)
         .subCategory(GENERAL)
         .type(PropertyType.BOOLEAN)
+        .build(),
+
+      PropertyDefinition.builder(JavaScriptPlugin.ANALYSIS_THREADS)
+        .defaultValue(JavaScriptPlugin.ANALYSIS_THREADS_DEFAULT_VALUE.toString())
+        .name("Analysis threads")
+        .description("Number of threads used to parse and check files. Issues and measures are still saved in file order.")
+        .onQualifiers(Qualifiers.PROJECT)
+        .subCategory(GENERAL)
+        .type(PropertyType.INTEGER)
+        .build(),
+
+      PropertyDefinition.builder(JavaScriptPlugin.ANALYSIS_CACHE)
+        .defaultValue(JavaScriptPlugin.ANALYSIS_CACHE_DEFAULT_VALUE.toString())
+        .name("Analysis cache")
+        .description("Reuse the results of the previous analysis for files whose content has not changed. "
+          + "The cache is stored in the working directory and is invalidated when the plugin, the rules or their parameters change.")
+        .onQualifiers(Qualifiers.PROJECT)
+        .subCategory(GENERAL)
+        .type(PropertyType.BOOLEAN)
+        .build(),
+
+      PropertyDefinition.builder(JavaScriptPlugin.ANALYSIS_PROFILING)
+        .defaultValue(JavaScriptPlugin.ANALYSIS_PROFILING_DEFAULT_VALUE.toString())
+        .name("Analysis profiling")
+        .description("Measure the time spent in each analysis phase and each rule, and write the report in the .sonar/profiling directory. "
+          + "Slows down the analysis.")
+        .onQualifiers(Qualifiers.PROJECT)
+        .subCategory(GENERAL)
+        .type(PropertyType.BOOLEAN)
+        .build(),
+
+      PropertyDefinition.builder(JavaScriptPlugin.SYMBOL_HIGHLIGHTING)
+        .defaultValue(JavaScriptPlugin.SYMBOL_HIGHLIGHTING_DEFAULT_VALUE.toString())
+        .name("Symbol highlighting")
+        .description("Highlight the usages of symbols in the source viewer. "
+          + "When disabled, symbols and types are computed only if an active rule needs them.")
+        .onQualifiers(Qualifiers.PROJECT)
+        .subCategory(GENERAL)
+        .type(PropertyType.BOOLEAN)
         .build()
     );
   }
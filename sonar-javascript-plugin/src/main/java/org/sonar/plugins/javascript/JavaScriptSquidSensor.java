@@ -24,14 +24,26 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.Futures;
 import com.sonar.sslr.api.RecognitionException;
 import com.sonar.sslr.api.typed.ActionParser;
 import java.io.File;
+import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -47,31 +59,40 @@ import org.sonar.api.component.Perspective;
 import org.sonar.api.component.ResourcePerspectives;
 import org.sonar.api.config.Settings;
 import org.sonar.api.issue.Issuable;
-import org.sonar.api.issue.Issuable.IssueBuilder;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.FileLinesContextFactory;
 import org.sonar.api.measures.Metric;
 import org.sonar.api.resources.Project;
 import org.sonar.api.rule.RuleKey;
+import org.sonar.api.source.Highlightable;
 import org.sonar.api.source.Symbolizable;
 import org.sonar.javascript.JavaScriptCheckContext;
 import org.sonar.javascript.checks.CheckList;
 import org.sonar.javascript.checks.ParsingErrorCheck;
+import org.sonar.javascript.highlighter.FileHighlighting;
 import org.sonar.javascript.highlighter.HighlighterVisitor;
-import org.sonar.javascript.issues.PreciseIssueCompat;
+import org.sonar.javascript.highlighter.SymbolReferences;
 import org.sonar.javascript.metrics.MetricsVisitor;
+import org.sonar.javascript.parser.JavaScriptParser;
 import org.sonar.javascript.parser.JavaScriptParserBuilder;
 import org.sonar.javascript.tree.symbols.SymbolModelImpl;
 import org.sonar.javascript.tree.visitors.CharsetAwareVisitor;
+import org.sonar.plugins.javascript.cache.AnalysisCache;
+import org.sonar.plugins.javascript.cache.CachedFile;
+import org.sonar.plugins.javascript.cache.CachedIssue;
+import org.sonar.plugins.javascript.cpd.CpdTokenStore;
+import org.sonar.plugins.javascript.cpd.CpdTokens;
+import org.sonar.plugins.javascript.profiling.AnalysisProfiler;
+import org.sonar.plugins.javascript.profiling.AnalysisProfiler.Stopwatch;
 import org.sonar.plugins.javascript.api.CustomJavaScriptRulesDefinition;
 import org.sonar.plugins.javascript.api.JavaScriptCheck;
+import org.sonar.plugins.javascript.api.ModelLevel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
-import org.sonar.plugins.javascript.api.visitors.FileIssue;
 import org.sonar.plugins.javascript.api.visitors.Issue;
-import org.sonar.plugins.javascript.api.visitors.LineIssue;
-import org.sonar.plugins.javascript.api.visitors.PreciseIssue;
+import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
+import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitorDispatcher;
 import org.sonar.plugins.javascript.api.visitors.TreeVisitor;
 import org.sonar.squidbridge.ProgressReport;
 import org.sonar.squidbridge.api.AnalysisException;
@@ -79,6 +100,7 @@ import org.sonar.squidbridge.api.AnalysisException;
 public class JavaScriptSquidSensor implements Sensor {
 
   private static final boolean IS_SONARQUBE_52_OR_LATER = isSonarQube52OrLater();
+  private static final int PROFILED_SLOWEST_FILES = 20;
 
   @DependedUpon
   public Collection<Metric> generatesNCLOCMetric() {
@@ -87,6 +109,8 @@ public class JavaScriptSquidSensor implements Sensor {
 
   private static final Logger LOG = LoggerFactory.getLogger(JavaScriptSquidSensor.class);
 
+  private final CheckFactory checkFactory;
+  private final CustomJavaScriptRulesDefinition[] customRulesDefinition;
   private final JavaScriptChecks checks;
   private final FileLinesContextFactory fileLinesContextFactory;
   private final ResourcePerspectives resourcePerspectives;
@@ -94,27 +118,36 @@ public class JavaScriptSquidSensor implements Sensor {
   private final NoSonarFilter noSonarFilter;
   private final FilePredicate mainFilePredicate;
   private final Settings settings;
-  private final ActionParser<Tree> parser;
+  private final CpdTokenStore cpdTokenStore;
+  private final AnalysisProfiler profiler;
+  private final boolean symbolHighlighting;
+  // what is computed for each file besides its tree, according to the needs of the active checks and of symbol highlighting
+  private final ModelLevel modelLevel;
   // parsingErrorRuleKey equals null if ParsingErrorCheck is not activated
   private RuleKey parsingErrorRuleKey = null;
   private boolean excludeMinified = JavaScriptPlugin.EXCLUDE_MINIFIED_FILES_DEFAULT_VALUE;
+  private int analysisThreads = JavaScriptPlugin.ANALYSIS_THREADS_DEFAULT_VALUE;
+  private boolean analysisCacheEnabled = JavaScriptPlugin.ANALYSIS_CACHE_DEFAULT_VALUE;
+  // analysisCache equals null if the cache is disabled
+  private AnalysisCache analysisCache = null;
 
   public JavaScriptSquidSensor(
     CheckFactory checkFactory, FileLinesContextFactory fileLinesContextFactory,
-    ResourcePerspectives resourcePerspectives, FileSystem fileSystem, NoSonarFilter noSonarFilter, Settings settings
+    ResourcePerspectives resourcePerspectives, FileSystem fileSystem, NoSonarFilter noSonarFilter, Settings settings,
+    CpdTokenStore cpdTokenStore
   ) {
-    this(checkFactory, fileLinesContextFactory, resourcePerspectives, fileSystem, noSonarFilter, settings, null);
+    this(checkFactory, fileLinesContextFactory, resourcePerspectives, fileSystem, noSonarFilter, settings, cpdTokenStore, null);
   }
 
   public JavaScriptSquidSensor(
     CheckFactory checkFactory, FileLinesContextFactory fileLinesContextFactory,
     ResourcePerspectives resourcePerspectives, FileSystem fileSystem, NoSonarFilter noSonarFilter,
-    Settings settings, @Nullable CustomJavaScriptRulesDefinition[] customRulesDefinition
+    Settings settings, CpdTokenStore cpdTokenStore, @Nullable CustomJavaScriptRulesDefinition[] customRulesDefinition
   ) {
 
-    this.checks = JavaScriptChecks.createJavaScriptCheck(checkFactory)
-      .addChecks(CheckList.REPOSITORY_KEY, CheckList.getChecks())
-      .addCustomChecks(customRulesDefinition);
+    this.checkFactory = checkFactory;
+    this.customRulesDefinition = customRulesDefinition;
+    this.checks = createChecks();
     this.fileLinesContextFactory = fileLinesContextFactory;
     this.resourcePerspectives = resourcePerspectives;
     this.fileSystem = fileSystem;
@@ -123,8 +156,28 @@ public class JavaScriptSquidSensor implements Sensor {
       fileSystem.predicates().hasType(InputFile.Type.MAIN),
       fileSystem.predicates().hasLanguage(JavaScriptLanguage.KEY));
     this.settings = settings;
+    this.cpdTokenStore = cpdTokenStore;
     this.excludeMinified = settings.getBoolean(JavaScriptPlugin.EXCLUDE_MINIFIED_FILES);
-    this.parser = JavaScriptParserBuilder.createParser(fileSystem.encoding());
+    this.analysisThreads = settings.getInt(JavaScriptPlugin.ANALYSIS_THREADS);
+    this.analysisCacheEnabled = settings.getBoolean(JavaScriptPlugin.ANALYSIS_CACHE);
+    this.profiler = new AnalysisProfiler(settings.getBoolean(JavaScriptPlugin.ANALYSIS_PROFILING), PROFILED_SLOWEST_FILES);
+    this.symbolHighlighting = settings.getBoolean(JavaScriptPlugin.SYMBOL_HIGHLIGHTING);
+    this.modelLevel = modelLevel(checks, symbolHighlighting);
+  }
+
+  @VisibleForTesting
+  static ModelLevel modelLevel(JavaScriptChecks checks, boolean symbolHighlighting) {
+    ModelLevel modelLevel = symbolHighlighting ? ModelLevel.SYMBOLS : ModelLevel.TREE;
+    for (TreeVisitor check : checks.all()) {
+      modelLevel = modelLevel.max(ModelLevel.of(check));
+    }
+    return modelLevel;
+  }
+
+  private JavaScriptChecks createChecks() {
+    return JavaScriptChecks.createJavaScriptCheck(checkFactory)
+      .addChecks(CheckList.REPOSITORY_KEY, CheckList.getChecks())
+      .addCustomChecks(customRulesDefinition);
   }
 
   @Override
@@ -138,37 +191,154 @@ public class JavaScriptSquidSensor implements Sensor {
 
     treeVisitors.add(new MetricsVisitor(fileSystem, context, noSonarFilter, settings.getBoolean(JavaScriptPlugin.IGNORE_HEADER_COMMENTS), fileLinesContextFactory));
     treeVisitors.add(new HighlighterVisitor(resourcePerspectives, fileSystem));
-    treeVisitors.addAll(checks.all());
 
-    for (TreeVisitor check : treeVisitors) {
+    for (TreeVisitor check : checks.all()) {
       if (check instanceof ParsingErrorCheck) {
         parsingErrorRuleKey = checks.ruleKeyFor((JavaScriptCheck) check);
         break;
       }
     }
 
+    if (analysisCacheEnabled) {
+      analysisCache = AnalysisCache.load(fileSystem.workDir(), AnalysisCache.fingerprint(checks, settings, fileSystem.encoding()));
+    }
+
     ProgressReport progressReport = new ProgressReport("Report about progress of Javascript analyzer", TimeUnit.SECONDS.toMillis(10));
     progressReport.start(Lists.newArrayList(fileSystem.files(mainFilePredicate)));
 
-    analyseFiles(context, treeVisitors, fileSystem.inputFiles(mainFilePredicate), progressReport);
+    try {
+      if (analysisThreads > 1) {
+        analyseFilesInParallel(context, treeVisitors, fileSystem.inputFiles(mainFilePredicate), progressReport, analysisThreads);
+
+      } else {
+        treeVisitors.addAll(checks.all());
+        analyseFiles(context, treeVisitors, fileSystem.inputFiles(mainFilePredicate), progressReport);
+      }
+    } finally {
+      JavaScriptParserBuilder.clearIdleParsers();
+    }
+
+    if (analysisCache != null) {
+      analysisCache.save();
+    }
+    profiler.save(new File(fileSystem.workDir(), "profiling"));
   }
 
   @VisibleForTesting
   protected void analyseFiles(SensorContext context, List<TreeVisitor> treeVisitors, Iterable<InputFile> inputFiles, ProgressReport progressReport) {
+    FileScanner fileScanner = new FileScanner(treeVisitors);
+    JavaScriptParser parser = JavaScriptParserBuilder.acquireParser(fileSystem.encoding());
     boolean success = false;
     try {
       for (InputFile inputFile : inputFiles) {
         if (!isExcluded(inputFile.file())) {
-          analyse(context, inputFile, treeVisitors);
+          analyse(context, inputFile, parser, fileScanner);
         }
         progressReport.nextFile();
       }
       success = true;
     } finally {
+      JavaScriptParserBuilder.releaseParser(parser, Math.max(1, analysisThreads));
       stopProgressReport(progressReport, success);
     }
   }
 
+  /**
+   * Files are parsed and checked by {@code threads} workers, each one having its own parser and its own check instances.
+   * Parsers are given back to the pool of {@link JavaScriptParserBuilder} once all files are analysed.
+   * Results are then saved from the calling thread in file order, together with the visitors given as parameter
+   * (metrics and highlighting), so the data sent to SonarQube is the same as with {@link #analyseFiles}.
+   */
+  @VisibleForTesting
+  protected void analyseFilesInParallel(
+    SensorContext context, List<TreeVisitor> treeVisitors, Iterable<InputFile> inputFiles, ProgressReport progressReport, int threads
+  ) {
+    BlockingQueue<Worker> workers = new ArrayBlockingQueue<>(threads);
+    for (int i = 0; i < threads; i++) {
+      JavaScriptChecks workerChecks = createChecks();
+      workers.add(new Worker(JavaScriptParserBuilder.acquireParser(fileSystem.encoding()), workerChecks, new FileScanner(workerChecks.all())));
+    }
+
+    FileScanner fileScanner = new FileScanner(treeVisitors);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    Deque<Future<FileAnalysis>> pendingAnalyses = new ArrayDeque<>();
+    boolean success = false;
+    try {
+      for (InputFile inputFile : inputFiles) {
+        if (isExcluded(inputFile.file())) {
+          pendingAnalyses.add(Futures.<FileAnalysis>immediateFuture(null));
+        } else {
+          pendingAnalyses.add(executor.submit(new FileAnalysisTask(inputFile, workers)));
+        }
+
+        // bound the number of parsed trees kept in memory
+        if (pendingAnalyses.size() > 2 * threads) {
+          saveFileAnalysis(context, fileScanner, pendingAnalyses.poll(), progressReport);
+        }
+      }
+      while (!pendingAnalyses.isEmpty()) {
+        saveFileAnalysis(context, fileScanner, pendingAnalyses.poll(), progressReport);
+      }
+      success = true;
+    } finally {
+      executor.shutdownNow();
+      // on failure, some workers may still be running: their parsers are dropped instead
+      if (success) {
+        for (Worker worker : workers) {
+          JavaScriptParserBuilder.releaseParser(worker.parser, threads);
+        }
+      }
+      stopProgressReport(progressReport, success);
+    }
+  }
+
+  private void saveFileAnalysis(SensorContext context, FileScanner fileScanner, Future<FileAnalysis> future, ProgressReport progressReport) {
+    FileAnalysis fileAnalysis = waitFor(future);
+    Stopwatch fileStopwatch = profiler.start();
+
+    if (fileAnalysis != null) {
+      InputFile inputFile = fileAnalysis.inputFile;
+      Issuable issuable = perspective(Issuable.class, inputFile);
+
+      if (fileAnalysis.cachedFile != null) {
+        restore(context, inputFile, issuable, fileAnalysis.cachedFile);
+
+      } else if (fileAnalysis.recognitionException != null) {
+        LOG.error("Unable to parse file: " + inputFile.absolutePath());
+        LOG.error(fileAnalysis.recognitionException.getMessage());
+        processRecognitionException(fileAnalysis.recognitionException, issuable);
+
+      } else {
+        try {
+          JavaScriptCheckContext checkContext = new JavaScriptCheckContext(fileAnalysis.scriptTree, inputFile.file(), fileAnalysis.fileContent, fileAnalysis.symbolModel);
+          fileScanner.scan(checkContext);
+          saveFile(context, inputFile, issuable, fileScanner, fileAnalysis, fileAnalysis.issues, fileAnalysis.checks);
+
+        } catch (Exception e) {
+          checkInterrupted(e);
+          throw new AnalysisException("Unable to analyse file: " + inputFile.absolutePath(), e);
+        }
+      }
+      profiler.file(inputFile.relativePath(), fileStopwatch);
+    }
+
+    progressReport.nextFile();
+  }
+
+  @Nullable
+  private static FileAnalysis waitFor(Future<FileAnalysis> future) {
+    try {
+      return future.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnalysisException("Analysis cancelled", e);
+
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
   private static void stopProgressReport(ProgressReport progressReport, boolean success) {
     if (success) {
       progressReport.stop();
@@ -177,13 +347,23 @@ public class JavaScriptSquidSensor implements Sensor {
     }
   }
 
-  private void analyse(SensorContext sensorContext, InputFile inputFile, List<TreeVisitor> visitors) {
+  private void analyse(SensorContext sensorContext, InputFile inputFile, JavaScriptParser parser, FileScanner fileScanner) {
     Issuable issuable = perspective(Issuable.class, inputFile);
-    ScriptTree scriptTree;
+    FileAnalysis fileAnalysis = new FileAnalysis(inputFile, checks);
+    Stopwatch fileStopwatch = profiler.start();
 
     try {
-      scriptTree = (ScriptTree) parser.parse(new java.io.File(inputFile.absolutePath()));
-      scanFile(sensorContext, inputFile, visitors, issuable, scriptTree);
+      read(fileAnalysis);
+      if (lookUpCache(fileAnalysis)) {
+        restore(sensorContext, inputFile, issuable, fileAnalysis.cachedFile);
+        return;
+      }
+
+      buildTree(parser, fileAnalysis);
+
+      List<Issue> fileIssues = fileScanner.scan(new JavaScriptCheckContext(
+        fileAnalysis.scriptTree, inputFile.file(), fileAnalysis.fileContent, fileAnalysis.symbolModel));
+      saveFile(sensorContext, inputFile, issuable, fileScanner, fileAnalysis, fileIssues, checks);
 
     } catch (RecognitionException e) {
       checkInterrupted(e);
@@ -194,10 +374,27 @@ public class JavaScriptSquidSensor implements Sensor {
     } catch (Exception e) {
       checkInterrupted(e);
       throw new AnalysisException("Unable to analyse file: " + inputFile.absolutePath(), e);
+
+    } finally {
+      profiler.file(inputFile.relativePath(), fileStopwatch);
     }
 
   }
 
+  private void buildTree(ActionParser<Tree> parser, FileAnalysis fileAnalysis) {
+    Stopwatch stopwatch = profiler.start();
+    fileAnalysis.scriptTree = (ScriptTree) parser.parse(fileAnalysis.fileContent);
+    fileAnalysis.cpdTokens = CpdTokens.create(fileAnalysis.scriptTree, fileSystem.encoding(), fileAnalysis.fileContent);
+    cpdTokenStore.put(fileAnalysis.inputFile.file(), fileAnalysis.cpdTokens);
+    profiler.phase(AnalysisProfiler.PARSE, stopwatch);
+
+    if (modelLevel != ModelLevel.TREE) {
+      stopwatch = profiler.start();
+      fileAnalysis.symbolModel = SymbolModelImpl.create(fileAnalysis.scriptTree, settings, modelLevel == ModelLevel.TYPES);
+      profiler.phase(AnalysisProfiler.SYMBOL_MODEL, stopwatch);
+    }
+  }
+
   private static void checkInterrupted(Exception e) {
     Throwable cause = Throwables.getRootCause(e);
     if (cause instanceof InterruptedException || cause instanceof InterruptedIOException) {
@@ -216,75 +413,84 @@ public class JavaScriptSquidSensor implements Sensor {
     }
   }
 
-  private void scanFile(SensorContext sensorContext, InputFile inputFile, List<TreeVisitor> visitors, Issuable issuable, ScriptTree scriptTree) {
-    SymbolModelImpl symbolModel = SymbolModelImpl.create(
-      scriptTree,
-      perspective(Symbolizable.class, inputFile),
-      settings
-    );
-
-    List<Issue> fileIssues = new ArrayList<>();
-
-    for (TreeVisitor visitor : visitors) {
-      if (visitor instanceof CharsetAwareVisitor) {
-        ((CharsetAwareVisitor) visitor).setCharset(fileSystem.encoding());
-      }
-
-      JavaScriptCheckContext context = new JavaScriptCheckContext(scriptTree, inputFile.file(), symbolModel);
-
-      if (visitor instanceof JavaScriptCheck) {
-        fileIssues.addAll(((JavaScriptCheck) visitor).scanFile(context));
-
-      } else {
-        visitor.scanTree(context);
-      }
-
+  /**
+   * Reads and decodes the file, once for parsing and all visitors.
+   * Can be called from analysis threads.
+   */
+  private void read(FileAnalysis fileAnalysis) {
+    File file = fileAnalysis.inputFile.file();
+    try {
+      fileAnalysis.fileContent = Files.toString(file, fileSystem.encoding());
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read " + file, e);
     }
+  }
 
-    saveFileIssues(sensorContext, fileIssues, inputFile, issuable);
+  /**
+   * Computes the content hash of the file and looks for the results of its previous analysis, when the cache is enabled.
+   * Can be called from analysis threads.
+   */
+  private boolean lookUpCache(FileAnalysis fileAnalysis) {
+    if (analysisCache == null) {
+      return false;
+    }
+    fileAnalysis.contentHash = AnalysisCache.contentHash(fileAnalysis.fileContent);
+    fileAnalysis.cachedFile = analysisCache.get(fileAnalysis.inputFile, fileAnalysis.contentHash);
+    return fileAnalysis.cachedFile != null;
   }
 
-  private void saveFileIssues(SensorContext sensorContext, List<Issue> fileIssues, InputFile inputFile, Issuable issuable) {
-    for (Issue issue : fileIssues) {
-      if (issue instanceof FileIssue) {
-        saveIssue(issuable, issue.check(), null, ((FileIssue) issue).message(), issue.cost());
+  private void saveFile(
+    SensorContext sensorContext, InputFile inputFile, Issuable issuable, FileScanner fileScanner, FileAnalysis fileAnalysis, List<Issue> fileIssues, JavaScriptChecks checks
+  ) {
+    SymbolReferences symbolReferences = SymbolReferences.empty();
+    if (symbolHighlighting) {
+      Stopwatch stopwatch = profiler.start();
+      symbolReferences = SymbolReferences.create(fileAnalysis.symbolModel);
+      symbolReferences.save(perspective(Symbolizable.class, inputFile));
+      profiler.phase(AnalysisProfiler.SYMBOL_HIGHLIGHTING, stopwatch);
+    }
 
-      } else if (issue instanceof LineIssue) {
-        saveIssue(issuable, issue.check(), ((LineIssue)issue).line(), ((LineIssue) issue).message(), issue.cost());
+    List<CachedIssue> cachedIssues = new ArrayList<>();
+    for (Issue issue : fileIssues) {
+      CachedIssue cachedIssue = CachedIssue.create(ruleKey(checks, issue.check()), issue);
+      cachedIssue.save(sensorContext, inputFile, issuable, IS_SONARQUBE_52_OR_LATER);
+      cachedIssues.add(cachedIssue);
+    }
 
-      } else {
-        PreciseIssue preciseIssue = (PreciseIssue)issue;
-        if (IS_SONARQUBE_52_OR_LATER) {
-          RuleKey ruleKey = ruleKey(issue.check());
-          PreciseIssueCompat.save(sensorContext, inputFile, ruleKey, preciseIssue);
-        } else {
-          saveIssue(issuable, issue.check(), preciseIssue.primaryLocation().startLine(), preciseIssue.primaryLocation().message(), issue.cost());
-        }
+    if (fileAnalysis.contentHash != null) {
+      CachedFile cachedFile = fileScanner.cachedFile(fileAnalysis.contentHash, cachedIssues, symbolReferences, fileAnalysis.cpdTokens);
+      if (cachedFile != null) {
+        analysisCache.put(inputFile, cachedFile);
       }
     }
   }
 
-  private void saveIssue(Issuable issuable, JavaScriptCheck check, @Nullable Integer line, String message, @Nullable Double cost) {
-    RuleKey ruleKey = ruleKey(check);
-
-    IssueBuilder issueBuilder = issuable
-      .newIssueBuilder()
-      .ruleKey(ruleKey)
-      .message(message);
+  /**
+   * Saves the results of the previous analysis of an unchanged file, without parsing it.
+   */
+  private void restore(SensorContext sensorContext, InputFile inputFile, Issuable issuable, CachedFile cachedFile) {
+    if (symbolHighlighting) {
+      cachedFile.symbolReferences().save(perspective(Symbolizable.class, inputFile));
+    }
+    cachedFile.metrics().save(sensorContext, inputFile, noSonarFilter, fileLinesContextFactory);
 
-    if (line != null) {
-      issueBuilder.line(line);
+    FileHighlighting highlighting = cachedFile.highlighting();
+    if (highlighting != null) {
+      Highlightable highlightable = resourcePerspectives.as(Highlightable.class, inputFile);
+      if (highlightable != null) {
+        highlighting.save(highlightable.newHighlighting());
+      }
     }
 
-    if (cost != null) {
-      issueBuilder.effortToFix(cost);
+    for (CachedIssue cachedIssue : cachedFile.issues()) {
+      cachedIssue.save(sensorContext, inputFile, issuable, IS_SONARQUBE_52_OR_LATER);
     }
 
-    issuable.addIssue(issueBuilder.build());
+    cpdTokenStore.put(inputFile.file(), cachedFile.cpdTokens());
+    analysisCache.put(inputFile, cachedFile);
   }
 
-
-  private RuleKey ruleKey(JavaScriptCheck check) {
+  private static RuleKey ruleKey(JavaScriptChecks checks, JavaScriptCheck check) {
     Preconditions.checkNotNull(check);
     RuleKey ruleKey = checks.ruleKeyFor(check);
     if (ruleKey == null) {
@@ -326,4 +532,158 @@ public class JavaScriptSquidSensor implements Sensor {
     return filename.endsWith("-min.js") || filename.endsWith(".min.js");
   }
 
+  /**
+   * Runs visitors on a file: all {@link SubscriptionVisitor} share a single traversal of the tree,
+   * other visitors scan the tree one after the other.
+   * When profiling, each visitor scans the tree on its own so that its time can be measured.
+   */
+  private class FileScanner {
+    private final SubscriptionVisitorDispatcher subscriptionVisitors;
+    private final List<TreeVisitor> otherVisitors = new ArrayList<>();
+    private MetricsVisitor metricsVisitor = null;
+    private HighlighterVisitor highlighterVisitor = null;
+
+    FileScanner(List<TreeVisitor> visitors) {
+      List<SubscriptionVisitor> subscribers = new ArrayList<>();
+      for (TreeVisitor visitor : visitors) {
+        if (visitor instanceof CharsetAwareVisitor) {
+          ((CharsetAwareVisitor) visitor).setCharset(fileSystem.encoding());
+        }
+        if (visitor instanceof MetricsVisitor) {
+          metricsVisitor = (MetricsVisitor) visitor;
+        } else if (visitor instanceof HighlighterVisitor) {
+          highlighterVisitor = (HighlighterVisitor) visitor;
+        }
+
+        if (visitor instanceof SubscriptionVisitor && !profiler.isEnabled()) {
+          subscribers.add((SubscriptionVisitor) visitor);
+        } else {
+          otherVisitors.add(visitor);
+        }
+      }
+      this.subscriptionVisitors = new SubscriptionVisitorDispatcher(subscribers);
+    }
+
+    List<Issue> scan(JavaScriptCheckContext context) {
+      List<Issue> fileIssues = subscriptionVisitors.scanFile(context);
+
+      for (TreeVisitor visitor : otherVisitors) {
+        Stopwatch stopwatch = profiler.start();
+        if (visitor instanceof JavaScriptCheck) {
+          fileIssues.addAll(((JavaScriptCheck) visitor).scanFile(context));
+
+        } else {
+          visitor.scanTree(context);
+        }
+        record(visitor, stopwatch);
+      }
+
+      return fileIssues;
+    }
+
+    private void record(TreeVisitor visitor, Stopwatch stopwatch) {
+      if (visitor == metricsVisitor) {
+        profiler.phase(AnalysisProfiler.METRICS, stopwatch);
+      } else if (visitor == highlighterVisitor) {
+        profiler.phase(AnalysisProfiler.HIGHLIGHTING, stopwatch);
+      } else {
+        profiler.check(visitor.getClass(), stopwatch);
+      }
+    }
+
+    /**
+     * @return what was saved for the last scanned file, null if its metrics were not computed by this scanner
+     */
+    @Nullable
+    CachedFile cachedFile(String contentHash, List<CachedIssue> issues, SymbolReferences symbolReferences, CpdTokens cpdTokens) {
+      if (metricsVisitor == null || metricsVisitor.fileMetrics() == null) {
+        return null;
+      }
+      FileHighlighting highlighting = highlighterVisitor == null ? null : highlighterVisitor.fileHighlighting();
+      return new CachedFile(contentHash, issues, metricsVisitor.fileMetrics(), highlighting, symbolReferences, cpdTokens);
+    }
+  }
+
+  /**
+   * Parser and checks owned by one analysis thread at a time.
+   */
+  private static class Worker {
+    private final JavaScriptParser parser;
+    private final JavaScriptChecks checks;
+    private final FileScanner fileScanner;
+
+    Worker(JavaScriptParser parser, JavaScriptChecks checks, FileScanner fileScanner) {
+      this.parser = parser;
+      this.checks = checks;
+      this.fileScanner = fileScanner;
+    }
+  }
+
+  private static class FileAnalysis {
+    private final InputFile inputFile;
+    private final JavaScriptChecks checks;
+    private ScriptTree scriptTree;
+    private SymbolModelImpl symbolModel;
+    private List<Issue> issues;
+    private RecognitionException recognitionException;
+    private String fileContent;
+    private String contentHash;
+    private CachedFile cachedFile;
+    private CpdTokens cpdTokens;
+
+    FileAnalysis(InputFile inputFile, JavaScriptChecks checks) {
+      this.inputFile = inputFile;
+      this.checks = checks;
+    }
+  }
+
+  private class FileAnalysisTask implements Callable<FileAnalysis> {
+    private final InputFile inputFile;
+    private final BlockingQueue<Worker> workers;
+
+    FileAnalysisTask(InputFile inputFile, BlockingQueue<Worker> workers) {
+      this.inputFile = inputFile;
+      this.workers = workers;
+    }
+
+    @Override
+    public FileAnalysis call() throws InterruptedException {
+      Worker worker = workers.take();
+      try {
+        return analyse(worker);
+      } finally {
+        workers.add(worker);
+      }
+    }
+
+    private FileAnalysis analyse(Worker worker) {
+      FileAnalysis fileAnalysis = new FileAnalysis(inputFile, worker.checks);
+      Stopwatch fileStopwatch = profiler.start();
+
+      try {
+        read(fileAnalysis);
+        if (lookUpCache(fileAnalysis)) {
+          return fileAnalysis;
+        }
+
+        buildTree(worker.parser, fileAnalysis);
+        fileAnalysis.issues = worker.fileScanner.scan(new JavaScriptCheckContext(
+          fileAnalysis.scriptTree, inputFile.file(), fileAnalysis.fileContent, fileAnalysis.symbolModel));
+
+      } catch (RecognitionException e) {
+        checkInterrupted(e);
+        fileAnalysis.recognitionException = e;
+
+      } catch (Exception e) {
+        checkInterrupted(e);
+        throw new AnalysisException("Unable to analyse file: " + inputFile.absolutePath(), e);
+
+      } finally {
+        profiler.file(inputFile.relativePath(), fileStopwatch);
+      }
+
+      return fileAnalysis;
+    }
+  }
+
 }
@@ -0,0 +1,199 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.cache;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.config.Settings;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.check.RuleProperty;
+import org.sonar.plugins.javascript.JavaScriptChecks;
+import org.sonar.plugins.javascript.JavaScriptPlugin;
+import org.sonar.plugins.javascript.api.JavaScriptCheck;
+import org.sonar.plugins.javascript.api.visitors.TreeVisitor;
+
+/**
+ * Results of the previous analysis, stored in the working directory and keyed by file content hash.
+ * The whole cache is dropped when its fingerprint changes, i.e. when the plugin or a plugin providing custom rules, the active rules,
+ * their parameters or the analysis settings are not the same as in the previous analysis.
+ * <p>
+ * Lookups can be done from several threads, while {@link #put} and {@link #save()} must be called from the sensor thread.
+ */
+public class AnalysisCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AnalysisCache.class);
+
+  public static final String CACHE_FILE_NAME = "javascript-analysis-cache.bin";
+
+  private final File cacheFile;
+  private final String fingerprint;
+  private final Map<String, CachedFile> previousFiles;
+  private final Map<String, CachedFile> currentFiles = new HashMap<>();
+
+  private AnalysisCache(File cacheFile, String fingerprint, Map<String, CachedFile> previousFiles) {
+    this.cacheFile = cacheFile;
+    this.fingerprint = fingerprint;
+    this.previousFiles = previousFiles;
+  }
+
+  public static AnalysisCache load(File workDir, String fingerprint) {
+    File cacheFile = new File(workDir, CACHE_FILE_NAME);
+    Map<String, CachedFile> previousFiles = new HashMap<>();
+
+    if (cacheFile.isFile()) {
+      try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+        if (fingerprint.equals(in.readObject())) {
+          Object files = in.readObject();
+          if (files instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, CachedFile> cachedFiles = (Map<String, CachedFile>) files;
+            previousFiles = cachedFiles;
+          } else {
+            LOG.warn("Unexpected content in JavaScript analysis cache " + cacheFile + ", all files will be analysed");
+          }
+        } else {
+          LOG.info("JavaScript analysis cache is outdated, all files will be analysed");
+        }
+
+      } catch (IOException | ClassNotFoundException | ClassCastException e) {
+        LOG.warn("Unable to read JavaScript analysis cache " + cacheFile + ", all files will be analysed", e);
+      }
+    }
+
+    return new AnalysisCache(cacheFile, fingerprint, previousFiles);
+  }
+
+  public static String contentHash(String fileContent) {
+    return Hashing.sha1().hashString(fileContent, Charsets.UTF_8).toString();
+  }
+
+  /**
+   * @return results of the previous analysis of this file, null if the file was not analysed or has changed since
+   */
+  @Nullable
+  public CachedFile get(InputFile inputFile, String contentHash) {
+    CachedFile cachedFile = previousFiles.get(inputFile.relativePath());
+    if (cachedFile != null && cachedFile.contentHash().equals(contentHash)) {
+      return cachedFile;
+    }
+    return null;
+  }
+
+  public void put(InputFile inputFile, CachedFile cachedFile) {
+    currentFiles.put(inputFile.relativePath(), cachedFile);
+  }
+
+  /**
+   * Writes the files analysed or replayed in this analysis, so that deleted files are dropped from the cache.
+   */
+  public void save() {
+    try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+      out.writeObject(fingerprint);
+      out.writeObject(new HashMap<>(currentFiles));
+
+    } catch (IOException e) {
+      LOG.warn("Unable to write JavaScript analysis cache " + cacheFile, e);
+    }
+  }
+
+  public static String fingerprint(JavaScriptChecks checks, Settings settings, Charset charset) {
+    StringBuilder fingerprint = new StringBuilder()
+      .append(charset.name()).append('\n')
+      .append(settings.getBoolean(JavaScriptPlugin.IGNORE_HEADER_COMMENTS)).append('\n')
+      .append(settings.getBoolean(JavaScriptPlugin.SYMBOL_HIGHLIGHTING)).append('\n')
+      .append(settings.getString(JavaScriptPlugin.JQUERY_OBJECT_ALIASES)).append('\n');
+
+    Map<String, String> codeVersions = new TreeMap<>();
+    addCodeVersion(JavaScriptPlugin.class, codeVersions);
+    SortedSet<String> rules = new TreeSet<>();
+    for (TreeVisitor check : checks.all()) {
+      addCodeVersion(check.getClass(), codeVersions);
+      if (check instanceof JavaScriptCheck) {
+        RuleKey ruleKey = checks.ruleKeyFor((JavaScriptCheck) check);
+        rules.add(ruleKey + ruleProperties(check));
+      } else {
+        rules.add(check.getClass().getName() + ruleProperties(check));
+      }
+    }
+    for (Map.Entry<String, String> codeVersion : codeVersions.entrySet()) {
+      fingerprint.append(codeVersion.getKey()).append(' ').append(codeVersion.getValue()).append('\n');
+    }
+    for (String rule : rules) {
+      fingerprint.append(rule).append('\n');
+    }
+
+    return Hashing.sha1().hashString(fingerprint, Charsets.UTF_8).toString();
+  }
+
+  private static String ruleProperties(Object check) {
+    StringBuilder properties = new StringBuilder();
+    for (Class<?> checkClass = check.getClass(); checkClass != null; checkClass = checkClass.getSuperclass()) {
+      for (Field field : checkClass.getDeclaredFields()) {
+        if (field.isAnnotationPresent(RuleProperty.class)) {
+          field.setAccessible(true);
+          try {
+            properties.append(' ').append(field.getName()).append('=').append(field.get(check));
+          } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to read parameter " + field.getName() + " of " + checkClass.getName(), e);
+          }
+        }
+      }
+    }
+    return properties.toString();
+  }
+
+  /**
+   * Records the version of the jar of the given class, with its modification date so that snapshots are distinguished too.
+   * This plugin and each plugin providing custom rules are recorded once, however many checks they provide.
+   */
+  private static void addCodeVersion(Class<?> type, Map<String, String> codeVersions) {
+    CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+    URL location = codeSource == null ? null : codeSource.getLocation();
+    String key = String.valueOf(location);
+    if (!codeVersions.containsKey(key)) {
+      Package typePackage = type.getPackage();
+      String version = typePackage == null ? null : typePackage.getImplementationVersion();
+      long lastModified = location == null ? 0 : new File(location.getPath()).lastModified();
+      codeVersions.put(key, version + "@" + lastModified);
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.cache;
+
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.sonar.javascript.highlighter.FileHighlighting;
+import org.sonar.javascript.highlighter.SymbolReferences;
+import org.sonar.javascript.metrics.FileMetrics;
+import org.sonar.plugins.javascript.cpd.CpdTokens;
+
+/**
+ * Everything saved by the sensor for one file, so that it can be saved again as long as the file content does not change.
+ */
+public class CachedFile implements Serializable {
+
+  private static final long serialVersionUID = 2L;
+
+  private final String contentHash;
+  private final List<CachedIssue> issues;
+  private final FileMetrics metrics;
+  private final FileHighlighting highlighting;
+  private final SymbolReferences symbolReferences;
+  private final CpdTokens cpdTokens;
+
+  public CachedFile(
+    String contentHash, List<CachedIssue> issues, FileMetrics metrics, @Nullable FileHighlighting highlighting, SymbolReferences symbolReferences,
+    CpdTokens cpdTokens
+  ) {
+    this.contentHash = contentHash;
+    this.issues = ImmutableList.copyOf(issues);
+    this.metrics = metrics;
+    this.highlighting = highlighting;
+    this.symbolReferences = symbolReferences;
+    this.cpdTokens = cpdTokens;
+  }
+
+  public String contentHash() {
+    return contentHash;
+  }
+
+  public List<CachedIssue> issues() {
+    return issues;
+  }
+
+  public FileMetrics metrics() {
+    return metrics;
+  }
+
+  @Nullable
+  public FileHighlighting highlighting() {
+    return highlighting;
+  }
+
+  public SymbolReferences symbolReferences() {
+    return symbolReferences;
+  }
+
+  public CpdTokens cpdTokens() {
+    return cpdTokens;
+  }
+
+}
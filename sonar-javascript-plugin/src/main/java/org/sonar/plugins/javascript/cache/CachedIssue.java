@@ -0,0 +1,143 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.SensorContext;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.issue.Issuable;
+import org.sonar.api.issue.Issuable.IssueBuilder;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.javascript.issues.PreciseIssueCompat;
+import org.sonar.plugins.javascript.api.visitors.FileIssue;
+import org.sonar.plugins.javascript.api.visitors.Issue;
+import org.sonar.plugins.javascript.api.visitors.IssueLocation;
+import org.sonar.plugins.javascript.api.visitors.LineIssue;
+import org.sonar.plugins.javascript.api.visitors.PreciseIssue;
+
+/**
+ * Issue raised by a check, detached from the check instance and from the tree of the file.
+ */
+public class CachedIssue implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String repository;
+  private final String rule;
+  private final Double cost;
+
+  // file and line issues
+  private final String message;
+  private final Integer line;
+
+  // precise issues
+  private final CachedLocation primaryLocation;
+  private final List<CachedLocation> secondaryLocations = new ArrayList<>();
+
+  private CachedIssue(RuleKey ruleKey, @Nullable Double cost, @Nullable String message, @Nullable Integer line, @Nullable CachedLocation primaryLocation) {
+    this.repository = ruleKey.repository();
+    this.rule = ruleKey.rule();
+    this.cost = cost;
+    this.message = message;
+    this.line = line;
+    this.primaryLocation = primaryLocation;
+  }
+
+  public static CachedIssue create(RuleKey ruleKey, Issue issue) {
+    if (issue instanceof FileIssue) {
+      return new CachedIssue(ruleKey, issue.cost(), ((FileIssue) issue).message(), null, null);
+
+    } else if (issue instanceof LineIssue) {
+      return new CachedIssue(ruleKey, issue.cost(), ((LineIssue) issue).message(), ((LineIssue) issue).line(), null);
+
+    } else {
+      PreciseIssue preciseIssue = (PreciseIssue) issue;
+      CachedIssue cachedIssue = new CachedIssue(ruleKey, issue.cost(), null, null, new CachedLocation(preciseIssue.primaryLocation()));
+      for (IssueLocation secondaryLocation : preciseIssue.secondaryLocations()) {
+        cachedIssue.secondaryLocations.add(new CachedLocation(secondaryLocation));
+      }
+      return cachedIssue;
+    }
+  }
+
+  public RuleKey ruleKey() {
+    return RuleKey.of(repository, rule);
+  }
+
+  public void save(SensorContext sensorContext, InputFile inputFile, Issuable issuable, boolean preciseIssueSupported) {
+    if (primaryLocation == null) {
+      saveIssue(issuable, line, message);
+
+    } else if (preciseIssueSupported) {
+      List<IssueLocation> secondaries = new ArrayList<>();
+      for (CachedLocation secondaryLocation : secondaryLocations) {
+        secondaries.add(secondaryLocation.toIssueLocation());
+      }
+      PreciseIssueCompat.save(sensorContext, inputFile, ruleKey(), primaryLocation.toIssueLocation(), secondaries, cost);
+
+    } else {
+      saveIssue(issuable, primaryLocation.startLine, primaryLocation.message);
+    }
+  }
+
+  private void saveIssue(Issuable issuable, @Nullable Integer line, @Nullable String message) {
+    IssueBuilder issueBuilder = issuable
+      .newIssueBuilder()
+      .ruleKey(ruleKey())
+      .message(message);
+
+    if (line != null) {
+      issueBuilder.line(line);
+    }
+
+    if (cost != null) {
+      issueBuilder.effortToFix(cost);
+    }
+
+    issuable.addIssue(issueBuilder.build());
+  }
+
+  private static class CachedLocation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int startLine;
+    private final int startLineOffset;
+    private final int endLine;
+    private final int endLineOffset;
+    private final String message;
+
+    CachedLocation(IssueLocation location) {
+      this.startLine = location.startLine();
+      this.startLineOffset = location.startLineOffset();
+      this.endLine = location.endLine();
+      this.endLineOffset = location.endLineOffset();
+      this.message = location.message();
+    }
+
+    IssueLocation toIssueLocation() {
+      return new IssueLocation(startLine, startLineOffset, endLine, endLineOffset, message);
+    }
+  }
+
+}
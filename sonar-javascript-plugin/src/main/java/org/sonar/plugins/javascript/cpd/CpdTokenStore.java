@@ -0,0 +1,52 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.cpd;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+import org.sonar.api.BatchExtension;
+
+/**
+ * Tokens of the files analysed by the sensor, kept until the copy-paste detection so that files are not lexed again.
+ * Tokens are softly referenced: under memory pressure they are dropped and the file is lexed again.
+ */
+public class CpdTokenStore implements BatchExtension {
+
+  private final ConcurrentMap<String, SoftReference<CpdTokens>> tokens = new ConcurrentHashMap<>();
+
+  public void put(File file, CpdTokens fileTokens) {
+    tokens.put(file.getAbsolutePath(), new SoftReference<>(fileTokens));
+  }
+
+  /**
+   * Removes the tokens of the file from the store.
+   *
+   * @return the tokens of the file, null if they were not stored or have been collected
+   */
+  @Nullable
+  public CpdTokens take(File file) {
+    SoftReference<CpdTokens> fileTokens = tokens.remove(file.getAbsolutePath());
+    return fileTokens == null ? null : fileTokens.get();
+  }
+
+}
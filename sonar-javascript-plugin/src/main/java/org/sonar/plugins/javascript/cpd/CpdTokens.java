@@ -0,0 +1,155 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.cpd;
+
+import com.sonar.sslr.api.GenericTokenType;
+import com.sonar.sslr.api.Token;
+import com.sonar.sslr.impl.Lexer;
+import java.io.File;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.sourceforge.pmd.cpd.TokenEntry;
+import net.sourceforge.pmd.cpd.Tokens;
+import org.sonar.javascript.lexer.JavaScriptLexer;
+import org.sonar.javascript.tree.impl.lexical.InternalSyntaxToken;
+import org.sonar.plugins.javascript.api.tree.Tree;
+import org.sonar.plugins.javascript.api.tree.Tree.Kind;
+import org.sonar.plugins.javascript.api.visitors.SubscriptionVisitor;
+
+/**
+ * Images and lines of the tokens of a file, as used by the copy-paste detection.
+ * String literals all have the same image, so that code only differing by them is reported as duplicated.
+ */
+public class CpdTokens implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final String LITERAL_IMAGE = GenericTokenType.LITERAL.getValue();
+  private static final String EOF_IMAGE = GenericTokenType.EOF.getValue();
+
+  private final String[] images;
+  private final int[] lines;
+
+  private CpdTokens(String[] images, int[] lines) {
+    this.images = images;
+    this.lines = lines;
+  }
+
+  /**
+   * Tokens of a tree built by the parser from the given content, identical to the ones produced by {@link #lex(Lexer, File)} for the same file.
+   * The lexer does not know template literals and splits their characters into other tokens than the parser does:
+   * files containing some are lexed again.
+   */
+  public static CpdTokens create(Tree tree, Charset charset, String content) {
+    TokenCollector collector = new TokenCollector();
+    collector.scanTree(tree);
+    if (collector.hasTemplateCharacters) {
+      return lex(JavaScriptLexer.create(charset), content);
+    }
+    return new CpdTokens(collector.images.toArray(new String[collector.images.size()]), Arrays.copyOf(collector.lines, collector.images.size()));
+  }
+
+  public static CpdTokens lex(Lexer lexer, File file) {
+    return fromLexer(lexer.lex(file));
+  }
+
+  public static CpdTokens lex(Lexer lexer, String content) {
+    return fromLexer(lexer.lex(content));
+  }
+
+  private static CpdTokens fromLexer(List<Token> tokens) {
+    String[] images = new String[tokens.size()];
+    int[] lines = new int[tokens.size()];
+    for (int i = 0; i < images.length; i++) {
+      Token token = tokens.get(i);
+      images[i] = token.getType() == GenericTokenType.LITERAL ? LITERAL_IMAGE : token.getValue();
+      lines[i] = token.getLine();
+    }
+    return new CpdTokens(images, lines);
+  }
+
+  public int size() {
+    return images.length;
+  }
+
+  public void addTo(String fileName, Tokens cpdTokens) {
+    for (int i = 0; i < images.length; i++) {
+      cpdTokens.add(new TokenEntry(images[i], fileName, lines[i]));
+    }
+    cpdTokens.add(TokenEntry.getEOF());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (other == null || getClass() != other.getClass()) {
+      return false;
+    }
+    CpdTokens that = (CpdTokens) other;
+    return Arrays.equals(images, that.images) && Arrays.equals(lines, that.lines);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(images) + Arrays.hashCode(lines);
+  }
+
+  private static class TokenCollector extends SubscriptionVisitor {
+    private final List<String> images = new ArrayList<>();
+    private int[] lines = new int[256];
+    private boolean hasTemplateCharacters = false;
+
+    @Override
+    public List<Kind> nodesToVisit() {
+      return Arrays.asList(Kind.TOKEN);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      InternalSyntaxToken token = (InternalSyntaxToken) tree;
+      Tree parent = token.parent();
+      if (parent != null && parent.is(Kind.TEMPLATE_CHARACTERS)) {
+        hasTemplateCharacters = true;
+      }
+      if (images.size() == lines.length) {
+        lines = Arrays.copyOf(lines, lines.length * 2);
+      }
+      lines[images.size()] = token.line();
+      images.add(image(token));
+    }
+
+    private static String image(InternalSyntaxToken token) {
+      if (token.isEOF()) {
+        return EOF_IMAGE;
+      }
+      Tree parent = token.parent();
+      if (parent != null && parent.is(Kind.STRING_LITERAL)) {
+        return LITERAL_IMAGE;
+      }
+      return token.text();
+    }
+  }
+
+}
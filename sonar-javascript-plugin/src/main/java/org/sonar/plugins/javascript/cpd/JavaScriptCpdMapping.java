@@ -33,16 +33,18 @@ public class JavaScriptCpdMapping extends AbstractCpdMapping {
   private final JavaScriptLanguage language;
   private final Charset charset;
   private final boolean excludeMinified;
+  private final CpdTokenStore cpdTokenStore;
 
-  public JavaScriptCpdMapping(JavaScriptLanguage language, FileSystem fs, Settings settings) {
+  public JavaScriptCpdMapping(JavaScriptLanguage language, FileSystem fs, Settings settings, CpdTokenStore cpdTokenStore) {
     this.language = language;
     this.charset = fs.encoding();
     this.excludeMinified = settings.getBoolean(JavaScriptPlugin.EXCLUDE_MINIFIED_FILES);
+    this.cpdTokenStore = cpdTokenStore;
   }
 
   @Override
   public Tokenizer getTokenizer() {
-    return new JavaScriptTokenizer(charset, excludeMinified);
+    return new JavaScriptTokenizer(charset, excludeMinified, cpdTokenStore);
   }
 
   @Override
@@ -19,14 +19,9 @@
  */
 package org.sonar.plugins.javascript.cpd;
 
-import com.sonar.sslr.api.GenericTokenType;
-import com.sonar.sslr.api.Token;
-import com.sonar.sslr.impl.Lexer;
 import java.io.File;
 import java.nio.charset.Charset;
-import java.util.List;
 import net.sourceforge.pmd.cpd.SourceCode;
-import net.sourceforge.pmd.cpd.TokenEntry;
 import net.sourceforge.pmd.cpd.Tokenizer;
 import net.sourceforge.pmd.cpd.Tokens;
 import org.sonar.javascript.lexer.JavaScriptLexer;
@@ -36,34 +31,27 @@ public class JavaScriptTokenizer implements Tokenizer {
 
   private final Charset charset;
   private final boolean excludeMinified;
+  private final CpdTokenStore cpdTokenStore;
 
-  public JavaScriptTokenizer(Charset charset, boolean excludeMinified) {
+  public JavaScriptTokenizer(Charset charset, boolean excludeMinified, CpdTokenStore cpdTokenStore) {
     this.charset = charset;
     this.excludeMinified = excludeMinified;
+    this.cpdTokenStore = cpdTokenStore;
   }
 
   @Override
   public final void tokenize(SourceCode source, Tokens cpdTokens) {
-    Lexer lexer = JavaScriptLexer.create(charset);
-
     String fileName = source.getFileName();
     if (excludeMinified && JavaScriptSquidSensor.isMinifiedFile(fileName)) {
       return;
     }
 
-    List<Token> tokens = lexer.lex(new File(fileName));
-    for (Token token : tokens) {
-      TokenEntry cpdToken = new TokenEntry(getTokenImage(token), fileName, token.getLine());
-      cpdTokens.add(cpdToken);
-    }
-    cpdTokens.add(TokenEntry.getEOF());
-  }
-
-  private static String getTokenImage(Token token) {
-    if (token.getType() == GenericTokenType.LITERAL) {
-      return GenericTokenType.LITERAL.getValue();
+    File file = new File(fileName);
+    CpdTokens tokens = cpdTokenStore.take(file);
+    if (tokens == null) {
+      tokens = CpdTokens.lex(JavaScriptLexer.create(charset), file);
     }
-    return token.getValue();
+    tokens.addTo(fileName, cpdTokens);
   }
 
 }
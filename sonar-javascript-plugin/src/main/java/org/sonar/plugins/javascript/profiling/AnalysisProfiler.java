@@ -0,0 +1,252 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.profiling;
+
+import com.google.common.base.Charsets;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.utils.text.JsonWriter;
+
+/**
+ * Cumulative wall and CPU time spent in each analysis phase and in each check, and wall time spent on each file.
+ * Can be used from several analysis threads at the same time. When disabled, nothing is measured.
+ */
+public class AnalysisProfiler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AnalysisProfiler.class);
+
+  public static final String PARSE = "parse";
+  public static final String SYMBOL_MODEL = "symbol model";
+  public static final String METRICS = "metrics";
+  public static final String HIGHLIGHTING = "highlighting";
+  public static final String SYMBOL_HIGHLIGHTING = "symbol highlighting";
+
+  public static final String REPORT_NAME = "javascript-profiling";
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final Stopwatch DISABLED_STOPWATCH = new Stopwatch(0, 0);
+
+  private final boolean enabled;
+  private final int slowestFilesCount;
+  private final ConcurrentMap<String, Timing> phases = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Timing> checks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AtomicLong> files = new ConcurrentHashMap<>();
+
+  public AnalysisProfiler(boolean enabled, int slowestFilesCount) {
+    this.enabled = enabled;
+    this.slowestFilesCount = slowestFilesCount;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public Stopwatch start() {
+    if (!enabled) {
+      return DISABLED_STOPWATCH;
+    }
+    return new Stopwatch(System.nanoTime(), currentThreadCpuTime());
+  }
+
+  public void phase(String phase, Stopwatch stopwatch) {
+    record(phases, phase, stopwatch);
+  }
+
+  public void check(Class<?> checkClass, Stopwatch stopwatch) {
+    record(checks, checkClass.getName(), stopwatch);
+  }
+
+  /**
+   * Adds the wall time elapsed since the stopwatch was started to the time spent on the file.
+   */
+  public void file(String path, Stopwatch stopwatch) {
+    if (enabled) {
+      AtomicLong fileTime = files.get(path);
+      if (fileTime == null) {
+        files.putIfAbsent(path, new AtomicLong());
+        fileTime = files.get(path);
+      }
+      fileTime.addAndGet(System.nanoTime() - stopwatch.wallStart);
+    }
+  }
+
+  private void record(ConcurrentMap<String, Timing> timings, String name, Stopwatch stopwatch) {
+    if (enabled) {
+      Timing timing = timings.get(name);
+      if (timing == null) {
+        timings.putIfAbsent(name, new Timing());
+        timing = timings.get(name);
+      }
+      timing.add(System.nanoTime() - stopwatch.wallStart, currentThreadCpuTime() - stopwatch.cpuStart);
+    }
+  }
+
+  private static long currentThreadCpuTime() {
+    return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+  }
+
+  /**
+   * Writes the report as JSON and CSV in the given directory, usually the "profiling" directory of the working directory.
+   */
+  public void save(File directory) {
+    if (!enabled) {
+      return;
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      LOG.warn("Unable to create directory " + directory + " for JavaScript profiling report");
+      return;
+    }
+
+    File jsonReport = new File(directory, REPORT_NAME + ".json");
+    File csvReport = new File(directory, REPORT_NAME + ".csv");
+    try {
+      writeJson(jsonReport);
+      writeCsv(csvReport);
+      LOG.info("JavaScript profiling report written to " + jsonReport.getAbsolutePath());
+
+    } catch (IOException e) {
+      LOG.warn("Unable to write JavaScript profiling report in " + directory, e);
+    }
+  }
+
+  private void writeJson(File report) throws IOException {
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(report), Charsets.UTF_8)) {
+      JsonWriter json = JsonWriter.of(writer);
+      json.beginObject();
+      writeJsonTimings(json, "phases", phases);
+      writeJsonTimings(json, "checks", checks);
+
+      json.name("slowestFiles").beginArray();
+      for (Map.Entry<String, AtomicLong> file : slowestFiles()) {
+        json.beginObject()
+          .prop("path", file.getKey())
+          .prop("wallTimeMs", toMillis(file.getValue().get()))
+          .endObject();
+      }
+      json.endArray();
+
+      json.endObject().close();
+    }
+  }
+
+  private static void writeJsonTimings(JsonWriter json, String name, Map<String, Timing> timings) {
+    json.name(name).beginArray();
+    for (Map.Entry<String, Timing> timing : sortedByWallTime(timings)) {
+      json.beginObject()
+        .prop("name", timing.getKey())
+        .prop("calls", timing.getValue().calls.get())
+        .prop("wallTimeMs", toMillis(timing.getValue().wallTime.get()))
+        .prop("cpuTimeMs", toMillis(timing.getValue().cpuTime.get()))
+        .endObject();
+    }
+    json.endArray();
+  }
+
+  private void writeCsv(File report) throws IOException {
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(report), Charsets.UTF_8)) {
+      writer.write("type,name,calls,wallTimeMs,cpuTimeMs\n");
+      writeCsvTimings(writer, "phase", phases);
+      writeCsvTimings(writer, "check", checks);
+      for (Map.Entry<String, AtomicLong> file : slowestFiles()) {
+        writer.write("file," + csvValue(file.getKey()) + ",1," + toMillis(file.getValue().get()) + ",\n");
+      }
+    }
+  }
+
+  private static void writeCsvTimings(Writer writer, String type, Map<String, Timing> timings) throws IOException {
+    for (Map.Entry<String, Timing> timing : sortedByWallTime(timings)) {
+      Timing value = timing.getValue();
+      writer.write(type + "," + csvValue(timing.getKey()) + "," + value.calls.get() + ","
+        + toMillis(value.wallTime.get()) + "," + toMillis(value.cpuTime.get()) + "\n");
+    }
+  }
+
+  private static String csvValue(String value) {
+    if (value.contains(",") || value.contains("\"")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  private List<Map.Entry<String, AtomicLong>> slowestFiles() {
+    List<Map.Entry<String, AtomicLong>> sortedFiles = new ArrayList<>(files.entrySet());
+    Collections.sort(sortedFiles, new Comparator<Map.Entry<String, AtomicLong>>() {
+      @Override
+      public int compare(Map.Entry<String, AtomicLong> file1, Map.Entry<String, AtomicLong> file2) {
+        return Long.compare(file2.getValue().get(), file1.getValue().get());
+      }
+    });
+    return sortedFiles.subList(0, Math.min(slowestFilesCount, sortedFiles.size()));
+  }
+
+  private static List<Map.Entry<String, Timing>> sortedByWallTime(Map<String, Timing> timings) {
+    List<Map.Entry<String, Timing>> sortedTimings = new ArrayList<>(timings.entrySet());
+    Collections.sort(sortedTimings, new Comparator<Map.Entry<String, Timing>>() {
+      @Override
+      public int compare(Map.Entry<String, Timing> timing1, Map.Entry<String, Timing> timing2) {
+        return Long.compare(timing2.getValue().wallTime.get(), timing1.getValue().wallTime.get());
+      }
+    });
+    return sortedTimings;
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  public static final class Stopwatch {
+    private final long wallStart;
+    private final long cpuStart;
+
+    private Stopwatch(long wallStart, long cpuStart) {
+      this.wallStart = wallStart;
+      this.cpuStart = cpuStart;
+    }
+  }
+
+  private static class Timing {
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong wallTime = new AtomicLong();
+    private final AtomicLong cpuTime = new AtomicLong();
+
+    void add(long wallNanos, long cpuNanos) {
+      calls.incrementAndGet();
+      wallTime.addAndGet(wallNanos);
+      cpuTime.addAndGet(cpuNanos);
+    }
+  }
+
+}
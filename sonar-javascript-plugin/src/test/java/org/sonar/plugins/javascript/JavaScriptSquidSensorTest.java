@@ -27,6 +27,7 @@ import org.apache.commons.lang.NotImplementedException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.sonar.api.batch.SensorContext;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.internal.DefaultFileSystem;
@@ -53,19 +54,24 @@ import org.sonar.check.RuleProperty;
 import org.sonar.javascript.checks.CheckList;
 import org.sonar.plugins.javascript.api.CustomJavaScriptRulesDefinition;
 import org.sonar.plugins.javascript.api.JavaScriptCheck;
+import org.sonar.plugins.javascript.api.ModelLevel;
 import org.sonar.plugins.javascript.api.tree.ScriptTree;
 import org.sonar.plugins.javascript.api.tree.Tree;
 import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitor;
 import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitorCheck;
 import org.sonar.plugins.javascript.api.visitors.TreeVisitor;
 import org.sonar.plugins.javascript.api.visitors.TreeVisitorContext;
+import org.sonar.plugins.javascript.cache.AnalysisCache;
+import org.sonar.plugins.javascript.cpd.CpdTokenStore;
 import org.sonar.squidbridge.ProgressReport;
 import org.sonar.squidbridge.api.AnalysisException;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -76,6 +82,9 @@ public class JavaScriptSquidSensorTest {
   @org.junit.Rule
   public final ExpectedException thrown = ExpectedException.none();
 
+  @org.junit.Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private FileLinesContextFactory fileLinesContextFactory;
   private final Project project = new Project("project");
   private CheckFactory checkFactory = new CheckFactory(mock(ActiveRules.class));
@@ -99,11 +108,12 @@ public class JavaScriptSquidSensorTest {
   private final ResourcePerspectives perspectives = mock(ResourcePerspectives.class);
   private final DefaultFileSystem fileSystem = new DefaultFileSystem();
   private final Settings settings = new Settings();
+  private final CpdTokenStore cpdTokenStore = new CpdTokenStore();
   private final ProgressReport progressReport = mock(ProgressReport.class);
   private final SensorContext context = mock(SensorContext.class);
 
   private JavaScriptSquidSensor createSensor() {
-    return new JavaScriptSquidSensor(checkFactory, fileLinesContextFactory, perspectives, fileSystem, new NoSonarFilter(), settings, CUSTOM_RULES);
+    return new JavaScriptSquidSensor(checkFactory, fileLinesContextFactory, perspectives, fileSystem, new NoSonarFilter(), settings, cpdTokenStore, CUSTOM_RULES);
   }
 
   @Before
@@ -147,6 +157,8 @@ public class JavaScriptSquidSensorTest {
     verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.COMPLEXITY_IN_CLASSES), eq(1.0));
     verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.COMPLEXITY_IN_FUNCTIONS), eq(4.0));
     verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.COMMENT_LINES), eq(1.0));
+
+    assertThat(cpdTokenStore.take(inputFile.file()).size()).isGreaterThan(1);
   }
 
   @Test
@@ -182,6 +194,7 @@ public class JavaScriptSquidSensorTest {
     createSensor().analyse(project, context);
 
     verify(issuable).addIssue(any(Issue.class));
+    assertThat(cpdTokenStore.take(inputFile.file())).isNull();
   }
 
   @Test
@@ -212,6 +225,182 @@ public class JavaScriptSquidSensorTest {
     verify(issuable, times(2)).addIssue(any(Issue.class));
   }
 
+  @Test
+  public void should_compute_the_model_needed_by_active_checks() {
+    assertThat(JavaScriptSquidSensor.modelLevel(checks("MissingNewlineAtEndOfFile"), false)).isEqualTo(ModelLevel.TREE);
+    assertThat(JavaScriptSquidSensor.modelLevel(checks("MissingNewlineAtEndOfFile"), true)).isEqualTo(ModelLevel.SYMBOLS);
+    assertThat(JavaScriptSquidSensor.modelLevel(checks("MissingNewlineAtEndOfFile", "VariableDeclarationAfterUsage"), false)).isEqualTo(ModelLevel.SYMBOLS);
+    assertThat(JavaScriptSquidSensor.modelLevel(checks("VariableDeclarationAfterUsage", "S3403"), false)).isEqualTo(ModelLevel.TYPES);
+  }
+
+  @Test
+  public void should_not_highlight_symbols_when_disabled() {
+    InputFile inputFile = inputFile("cpd/Person.js");
+    fileSystem.add(inputFile);
+    mockInputFile(inputFile, context);
+
+    settings.setProperty(JavaScriptPlugin.SYMBOL_HIGHLIGHTING, false);
+    createSensor().analyse(project, context);
+    verify(perspectives, times(0)).as(Symbolizable.class, inputFile);
+
+    settings.setProperty(JavaScriptPlugin.SYMBOL_HIGHLIGHTING, true);
+    createSensor().analyse(project, context);
+    verify(perspectives).as(Symbolizable.class, inputFile);
+  }
+
+  @Test
+  public void should_highlight_symbols_of_files_cached_without_them() throws Exception {
+    settings.setProperty(JavaScriptPlugin.ANALYSIS_CACHE, true);
+    fileSystem.setWorkDir(temporaryFolder.newFolder());
+    InputFile inputFile = inputFile("cpd/Person.js");
+    fileSystem.add(inputFile);
+    mockInputFile(inputFile, context);
+
+    settings.setProperty(JavaScriptPlugin.SYMBOL_HIGHLIGHTING, false);
+    createSensor().analyse(project, context);
+
+    Symbolizable symbolizable = mock(Symbolizable.class);
+    SymbolTableBuilder symbolTableBuilder = mock(SymbolTableBuilder.class);
+    when(symbolizable.newSymbolTableBuilder()).thenReturn(symbolTableBuilder);
+    when(perspectives.as(Symbolizable.class, inputFile)).thenReturn(symbolizable);
+
+    settings.setProperty(JavaScriptPlugin.SYMBOL_HIGHLIGHTING, true);
+    createSensor().analyse(project, context);
+    verify(symbolTableBuilder, atLeastOnce()).newSymbol(anyInt(), anyInt());
+  }
+
+  private static JavaScriptChecks checks(String... ruleKeys) {
+    ActiveRulesBuilder activeRulesBuilder = new ActiveRulesBuilder();
+    for (String ruleKey : ruleKeys) {
+      activeRulesBuilder.create(RuleKey.of(CheckList.REPOSITORY_KEY, ruleKey)).activate();
+    }
+    return JavaScriptChecks.createJavaScriptCheck(new CheckFactory(activeRulesBuilder.build()))
+      .addChecks(CheckList.REPOSITORY_KEY, CheckList.getChecks());
+  }
+
+  @Test
+  public void should_analyse_with_several_threads() {
+    settings.setProperty(JavaScriptPlugin.ANALYSIS_THREADS, 2);
+    InputFile inputFile1 = inputFile("cpd/Person.js");
+    InputFile inputFile2 = inputFile("file.js");
+    fileSystem.add(inputFile1);
+    fileSystem.add(inputFile2);
+
+    ActiveRules activeRules = (new ActiveRulesBuilder())
+      .create(RuleKey.of(CheckList.REPOSITORY_KEY, "MissingNewlineAtEndOfFile"))
+      .activate()
+      .build();
+    checkFactory = new CheckFactory(activeRules);
+
+    SensorContext context = mock(SensorContext.class);
+    mockInputFile(inputFile1, context);
+    mockInputFile(inputFile2, context);
+    Issuable issuable = mock(Issuable.class);
+    Issuable.IssueBuilder issueBuilder = mock(Issuable.IssueBuilder.class);
+    mockPerspectives(inputFile2, issuable);
+    when(issuable.newIssueBuilder()).thenReturn(issueBuilder);
+    when(issueBuilder.ruleKey(any(RuleKey.class))).thenReturn(issueBuilder);
+    when(issueBuilder.message(any(String.class))).thenReturn(issueBuilder);
+
+    createSensor().analyse(project, context);
+
+    verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.LINES), eq(33.0));
+    verify(context, times(2)).saveMeasure(any(InputFile.class), eq(CoreMetrics.NCLOC), anyDouble());
+    verify(issuable).addIssue(any(Issue.class));
+  }
+
+  @Test
+  public void should_reuse_results_of_unchanged_files() throws Exception {
+    settings.setProperty(JavaScriptPlugin.ANALYSIS_CACHE, true);
+    File workDir = temporaryFolder.newFolder();
+    fileSystem.setWorkDir(workDir);
+    InputFile inputFile1 = inputFile("cpd/Person.js");
+    InputFile inputFile2 = inputFile("file.js");
+    fileSystem.add(inputFile1);
+    fileSystem.add(inputFile2);
+
+    ActiveRules activeRules = (new ActiveRulesBuilder())
+      .create(RuleKey.of(CheckList.REPOSITORY_KEY, "MissingNewlineAtEndOfFile"))
+      .activate()
+      .build();
+    checkFactory = new CheckFactory(activeRules);
+
+    for (int analysis = 0; analysis < 2; analysis++) {
+      SensorContext context = mock(SensorContext.class);
+      mockInputFile(inputFile1, context);
+      mockInputFile(inputFile2, context);
+      Issuable issuable = mock(Issuable.class);
+      Issuable.IssueBuilder issueBuilder = mock(Issuable.IssueBuilder.class);
+      mockPerspectives(inputFile2, issuable);
+      when(issuable.newIssueBuilder()).thenReturn(issueBuilder);
+      when(issueBuilder.ruleKey(any(RuleKey.class))).thenReturn(issueBuilder);
+      when(issueBuilder.message(any(String.class))).thenReturn(issueBuilder);
+
+      createSensor().analyse(project, context);
+
+      assertThat(new File(workDir, AnalysisCache.CACHE_FILE_NAME)).exists();
+      verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.LINES), eq(33.0));
+      verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.COMPLEXITY), eq(4.0));
+      verify(context, times(2)).saveMeasure(any(InputFile.class), eq(CoreMetrics.NCLOC), anyDouble());
+      verify(issuable).addIssue(any(Issue.class));
+      assertThat(cpdTokenStore.take(inputFile1.file())).isNotNull();
+    }
+  }
+
+  @Test
+  public void should_analyse_again_when_rules_change() throws Exception {
+    settings.setProperty(JavaScriptPlugin.ANALYSIS_CACHE, true);
+    fileSystem.setWorkDir(temporaryFolder.newFolder());
+    InputFile inputFile = inputFile("file.js");
+    fileSystem.add(inputFile);
+
+    SensorContext context = mock(SensorContext.class);
+    mockInputFile(inputFile, context);
+    createSensor().analyse(project, context);
+
+    checkFactory = new CheckFactory((new ActiveRulesBuilder())
+      .create(RuleKey.of(CheckList.REPOSITORY_KEY, "MissingNewlineAtEndOfFile"))
+      .activate()
+      .build());
+    Issuable issuable = mock(Issuable.class);
+    Issuable.IssueBuilder issueBuilder = mock(Issuable.IssueBuilder.class);
+    mockPerspectives(inputFile, issuable);
+    when(issuable.newIssueBuilder()).thenReturn(issueBuilder);
+    when(issueBuilder.ruleKey(any(RuleKey.class))).thenReturn(issueBuilder);
+    when(issueBuilder.message(any(String.class))).thenReturn(issueBuilder);
+
+    createSensor().analyse(project, context);
+
+    verify(issuable).addIssue(any(Issue.class));
+  }
+
+  @Test
+  public void should_write_profiling_report() throws Exception {
+    settings.setProperty(JavaScriptPlugin.ANALYSIS_PROFILING, true);
+    File workDir = temporaryFolder.newFolder();
+    fileSystem.setWorkDir(workDir);
+    InputFile inputFile = inputFile("cpd/Person.js");
+    fileSystem.add(inputFile);
+
+    SensorContext context = mock(SensorContext.class);
+    mockInputFile(inputFile, context);
+
+    createSensor().analyse(project, context);
+
+    verify(context).saveMeasure(any(InputFile.class), eq(CoreMetrics.LINES), eq(33.0));
+    assertThat(new File(workDir, "profiling/javascript-profiling.json")).exists();
+    assertThat(new File(workDir, "profiling/javascript-profiling.csv")).exists();
+  }
+
+  @Test
+  public void progress_report_should_be_stopped_with_several_threads() throws Exception {
+    InputFile inputFile = inputFile("cpd/Person.js");
+    mockPerspectives(inputFile, mock(Issuable.class));
+    createSensor().analyseFilesInParallel(context, ImmutableList.<TreeVisitor>of(), ImmutableList.of(inputFile), progressReport, 2);
+    verify(progressReport).nextFile();
+    verify(progressReport).stop();
+  }
+
   @Test
   public void progress_report_should_be_stopped() throws Exception {
     InputFile inputFile = inputFile("cpd/Person.js");
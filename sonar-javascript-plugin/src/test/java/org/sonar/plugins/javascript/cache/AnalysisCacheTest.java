@@ -0,0 +1,125 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.cache;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.rule.CheckFactory;
+import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
+import org.sonar.api.config.Settings;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.check.Rule;
+import org.sonar.javascript.highlighter.SymbolReferences;
+import org.sonar.plugins.javascript.JavaScriptChecks;
+import org.sonar.plugins.javascript.api.visitors.DoubleDispatchVisitorCheck;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class AnalysisCacheTest {
+
+  @org.junit.Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void foreign_cache_file_is_dropped() throws Exception {
+    File workDir = temporaryFolder.newFolder();
+    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(new File(workDir, AnalysisCache.CACHE_FILE_NAME)))) {
+      out.writeObject("fingerprint");
+      out.writeObject("not the cached files");
+    }
+
+    AnalysisCache cache = AnalysisCache.load(workDir, "fingerprint");
+
+    assertThat(cache.get(new DefaultInputFile("file.js"), AnalysisCache.contentHash(""))).isNull();
+  }
+
+  @Test
+  public void cache_is_dropped_when_jar_of_custom_check_changes() throws Exception {
+    File jar = temporaryFolder.newFile("custom-rules.jar");
+    String entryName = FingerprintCheck.class.getName().replace('.', '/') + ".class";
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(entryName));
+      out.write(ByteStreams.toByteArray(FingerprintCheck.class.getResourceAsStream("/" + entryName)));
+    }
+    jar.setLastModified(1000000000000L);
+
+    try (URLClassLoader classLoader = new CheckClassLoader(jar)) {
+      Class<?> checkClass = classLoader.loadClass(FingerprintCheck.class.getName());
+      assertThat(checkClass.getProtectionDomain().getCodeSource().getLocation()).isEqualTo(jar.toURI().toURL());
+      JavaScriptChecks checks = JavaScriptChecks.createJavaScriptCheck(new CheckFactory(new ActiveRulesBuilder()
+        .create(RuleKey.of("custom", "FingerprintCheck"))
+        .activate()
+        .build()))
+        .addChecks("custom", ImmutableList.<Class>of(checkClass));
+      assertThat(checks.all()).hasSize(1);
+
+      Settings settings = new Settings();
+      File workDir = temporaryFolder.newFolder();
+      InputFile inputFile = new DefaultInputFile("file.js");
+      String contentHash = AnalysisCache.contentHash("");
+      AnalysisCache cache = AnalysisCache.load(workDir, AnalysisCache.fingerprint(checks, settings, Charsets.UTF_8));
+      cache.put(inputFile, new CachedFile(contentHash, Collections.<CachedIssue>emptyList(), null, null, SymbolReferences.empty(), null));
+      cache.save();
+      assertThat(AnalysisCache.load(workDir, AnalysisCache.fingerprint(checks, settings, Charsets.UTF_8)).get(inputFile, contentHash)).isNotNull();
+
+      jar.setLastModified(2000000000000L);
+      assertThat(AnalysisCache.load(workDir, AnalysisCache.fingerprint(checks, settings, Charsets.UTF_8)).get(inputFile, contentHash)).isNull();
+    }
+  }
+
+  @Rule(key = "FingerprintCheck")
+  public static class FingerprintCheck extends DoubleDispatchVisitorCheck {
+  }
+
+  /**
+   * Loads the check from the given jar rather than from the test classes, as a custom rules plugin would.
+   */
+  private static class CheckClassLoader extends URLClassLoader {
+
+    CheckClassLoader(File jar) throws MalformedURLException {
+      super(new URL[] {jar.toURI().toURL()}, AnalysisCacheTest.class.getClassLoader());
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!FingerprintCheck.class.getName().equals(name)) {
+        return super.loadClass(name, resolve);
+      }
+      Class<?> loadedClass = findLoadedClass(name);
+      return loadedClass == null ? findClass(name) : loadedClass;
+    }
+
+  }
+
+}
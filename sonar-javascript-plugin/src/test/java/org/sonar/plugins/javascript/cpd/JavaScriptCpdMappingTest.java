@@ -33,7 +33,7 @@ public class JavaScriptCpdMappingTest {
   public void test() {
     JavaScriptLanguage language = mock(JavaScriptLanguage.class);
     FileSystem fs = mock(FileSystem.class);
-    JavaScriptCpdMapping mapping = new JavaScriptCpdMapping(language, fs, new Settings());
+    JavaScriptCpdMapping mapping = new JavaScriptCpdMapping(language, fs, new Settings(), new CpdTokenStore());
     assertThat(mapping.getLanguage()).isSameAs(language);
     assertThat(mapping.getTokenizer()).isInstanceOf(JavaScriptTokenizer.class);
   }
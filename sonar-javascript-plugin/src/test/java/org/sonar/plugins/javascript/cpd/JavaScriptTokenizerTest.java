@@ -19,13 +19,18 @@
  */
 package org.sonar.plugins.javascript.cpd;
 
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 import java.io.File;
 import java.nio.charset.Charset;
 import net.sourceforge.pmd.cpd.SourceCode;
 import net.sourceforge.pmd.cpd.TokenEntry;
 import net.sourceforge.pmd.cpd.Tokens;
 import org.junit.Test;
+import org.sonar.javascript.lexer.JavaScriptLexer;
+import org.sonar.javascript.parser.JavaScriptParserBuilder;
 import org.sonar.plugins.javascript.JavaScriptPlugin;
+import org.sonar.plugins.javascript.api.tree.Tree;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -35,7 +40,7 @@ public class JavaScriptTokenizerTest {
 
   @Test
   public void test() {
-    JavaScriptTokenizer tokenizer = new JavaScriptTokenizer(Charset.forName("UTF-8"), JavaScriptPlugin.EXCLUDE_MINIFIED_FILES_DEFAULT_VALUE);
+    JavaScriptTokenizer tokenizer = new JavaScriptTokenizer(Charset.forName("UTF-8"), JavaScriptPlugin.EXCLUDE_MINIFIED_FILES_DEFAULT_VALUE, new CpdTokenStore());
     SourceCode source = mock(SourceCode.class);
     when(source.getFileName()).thenReturn(new File("src/test/resources/cpd/Person.js").getAbsolutePath());
     Tokens tokens = new Tokens();
@@ -44,4 +49,47 @@ public class JavaScriptTokenizerTest {
     assertThat(tokens.getTokens().get(tokens.size() - 1)).isEqualTo(TokenEntry.getEOF());
   }
 
+  @Test
+  public void should_use_tokens_of_sensor() {
+    CpdTokenStore cpdTokenStore = new CpdTokenStore();
+    File file = new File("src/test/resources/cpd/not_on_disk.js");
+    cpdTokenStore.put(file, treeTokens("a = 1;"));
+
+    JavaScriptTokenizer tokenizer = new JavaScriptTokenizer(Charsets.UTF_8, JavaScriptPlugin.EXCLUDE_MINIFIED_FILES_DEFAULT_VALUE, cpdTokenStore);
+    SourceCode source = mock(SourceCode.class);
+    when(source.getFileName()).thenReturn(file.getAbsolutePath());
+    Tokens tokens = new Tokens();
+    tokenizer.tokenize(source, tokens);
+
+    // a, =, 1, ;, EOF token and CPD EOF entry
+    assertThat(tokens.getTokens().size()).isEqualTo(6);
+    assertThat(cpdTokenStore.take(file)).isNull();
+  }
+
+  @Test
+  public void tokens_of_tree_are_tokens_of_lexer() throws Exception {
+    File file = new File("src/test/resources/cpd/Person.js");
+    String content = Files.toString(file, Charsets.UTF_8) + "\nvar s = 'a' + \"b\" + /re/g.source;"
+      + "\nx = a / b / c + /[/]/.test(s) ? /\\//i : { 'key': \"v\" };";
+    Tree tree = JavaScriptParserBuilder.createParser(Charsets.UTF_8).parse(content);
+
+    assertThat(CpdTokens.create(tree, Charsets.UTF_8, content)).isEqualTo(lexerTokens(content));
+  }
+
+  @Test
+  public void tokens_of_template_literals_are_tokens_of_lexer() {
+    String source = "var s = `it's ${a} \"b\" c`;\nvar t = `x ${b}`;";
+
+    assertThat(treeTokens(source)).isEqualTo(lexerTokens(source));
+    assertThat(treeTokens("f('a', \"b\");")).isEqualTo(treeTokens("f(\"c\", 'd');"));
+  }
+
+  private static CpdTokens treeTokens(String source) {
+    return CpdTokens.create(JavaScriptParserBuilder.createParser(Charsets.UTF_8).parse(source), Charsets.UTF_8, source);
+  }
+
+  private static CpdTokens lexerTokens(String source) {
+    return CpdTokens.lex(JavaScriptLexer.create(Charsets.UTF_8), source);
+  }
+
 }
@@ -0,0 +1,76 @@
+/*
+ * SonarQube JavaScript Plugin
+ * Copyright (C) 2011-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.javascript.profiling;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.javascript.profiling.AnalysisProfiler.Stopwatch;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class AnalysisProfilerTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_write_report() throws Exception {
+    AnalysisProfiler profiler = new AnalysisProfiler(true, 1);
+    Stopwatch stopwatch = profiler.start();
+    profiler.phase(AnalysisProfiler.PARSE, stopwatch);
+    profiler.phase(AnalysisProfiler.PARSE, stopwatch);
+    profiler.check(AnalysisProfilerTest.class, stopwatch);
+    profiler.file("a.js", stopwatch);
+    profiler.file("b,c.js", stopwatch);
+
+    File directory = new File(temporaryFolder.newFolder(), "profiling");
+    profiler.save(directory);
+
+    String json = Files.toString(new File(directory, "javascript-profiling.json"), Charsets.UTF_8);
+    assertThat(json).contains("\"phases\":[{\"name\":\"parse\",\"calls\":2,");
+    assertThat(json).contains("\"checks\":[{\"name\":\"" + AnalysisProfilerTest.class.getName() + "\",\"calls\":1,");
+    assertThat(json).contains("\"slowestFiles\":[{\"path\":");
+
+    List<String> csv = Files.readLines(new File(directory, "javascript-profiling.csv"), Charsets.UTF_8);
+    assertThat(csv).hasSize(4);
+    assertThat(csv.get(0)).isEqualTo("type,name,calls,wallTimeMs,cpuTimeMs");
+    assertThat(csv.get(1)).startsWith("phase,parse,2,");
+    assertThat(csv.get(2)).startsWith("check," + AnalysisProfilerTest.class.getName() + ",1,");
+    assertThat(csv.get(3)).startsWith("file,");
+  }
+
+  @Test
+  public void should_not_write_report_when_disabled() throws Exception {
+    AnalysisProfiler profiler = new AnalysisProfiler(false, 1);
+    profiler.phase(AnalysisProfiler.PARSE, profiler.start());
+
+    File directory = new File(temporaryFolder.newFolder(), "profiling");
+    profiler.save(directory);
+
+    assertThat(profiler.isEnabled()).isFalse();
+    assertThat(directory.exists()).isFalse();
+  }
+
+}